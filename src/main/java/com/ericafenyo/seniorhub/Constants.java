@@ -31,4 +31,10 @@ public final class Constants {
   public static final String EXTRA_VERIFICATION_CODE_KEY = "extra_verification_code";
 
   public static final String COOKIES_EMAIL_VERIFICATION_CODE_KEY = "verification-key";
+
+  /**
+   * The number of primary keys reserved at once by the sequence generators of the entities. It should not be lower
+   * than the JDBC batch size, so that a full batch of inserts needs a single round trip to the sequence.
+   */
+  public static final int ID_ALLOCATION_SIZE = 50;
 }
@@ -30,6 +30,8 @@ import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Component
 @ConfigurationProperties(prefix = "seniorhub.env")
 @Getter
@@ -39,4 +41,42 @@ public class EnvironmentVariables {
     private String mailSender;
     private String baseUrl;
     private Long invitationExpirySeconds;
+    private Long jwtCacheSize;
+    private Long jwtCacheTtlSeconds;
+    private Long accountCacheSize;
+    private Long accountCacheTtlSeconds;
+    private Boolean statelessAuthentication;
+    private List<String> freshStatePaths;
+    private String revocationFilterPath;
+    private Long revocationFilterSize;
+    private Integer revocationFilterHashes;
+    private Long revocationCompactionIntervalSeconds;
+    private Long revocationSyncIntervalSeconds;
+    private Long refreshTokenLifetimeSeconds;
+    private Long refreshTokenCleanupIntervalSeconds;
+    private Integer passwordHashingThreads;
+    private Integer passwordHashingQueueCapacity;
+    private Long passwordHashingMaxWaitMillis;
+    private Long mailOutboxPollIntervalMillis;
+    private Integer mailOutboxBatchSize;
+    private Integer mailOutboxConcurrency;
+    private Integer mailOutboxMaxAttempts;
+    private Long mailOutboxBackoffSeconds;
+    private Long mailOutboxLeaseSeconds;
+    private Integer smtpPoolSize;
+    private Long smtpPoolBorrowTimeoutMillis;
+    private Long smtpPoolMaxIdleSeconds;
+    private Long smtpPoolEvictionIntervalMillis;
+    private Boolean smtpPoolValidateOnBorrow;
+    private List<String> mailTemplates;
+    private String invitationSweeperMode;
+    private Integer invitationSweeperChunkSize;
+    private Long invitationSweeperPauseMillis;
+    private Long invitationSweeperIntervalSeconds;
+    private Long invitationSweeperRetentionSeconds;
+    private Integer exportFlushInterval;
+    private Integer sqlStatementBudget;
+    private Long teamSummaryRebuildIntervalSeconds;
+    private Integer teamSummaryRebuildChunkSize;
+    private Integer agendaMaxDays;
 }
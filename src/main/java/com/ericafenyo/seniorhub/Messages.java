@@ -43,6 +43,7 @@ public class Messages {
     public static final String ERROR_RESOURCE_ALREADY_EXISTS_CODE = "error.resource.already.exists.code";
 
     public static final String MESSAGE_INVITATION_ACCEPTED = "message.invitation.accepted";
+    public static final String MESSAGE_INVITATION_SENT = "message.invitation.sent";
 
     private final MessageSource source;
 
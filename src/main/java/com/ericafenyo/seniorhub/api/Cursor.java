@@ -0,0 +1,107 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (C) 2024 Eric Afenyo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.ericafenyo.seniorhub.api;
+
+import com.ericafenyo.seniorhub.exceptions.BadRequestException;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+/**
+ * The position of a row in a listing ordered by creation date, then primary key.
+ * <p>
+ * Cursors are handed out to clients as opaque strings. The next page of a listing is made of the rows created
+ * after the cursor, which the database finds by seeking the (created_at, id) index rather than skipping rows.
+ * Rows without a creation date come first, ordered by primary key alone: a cursor on such a row has no date.
+ * <p>
+ * The primary key is the tie-breaker of the index, so it is knowingly exposed, base64-encoded, in the cursors.
+ * It reveals how many rows were created between two rows of a listing, nothing a client can use to access them.
+ *
+ * @param createdAt The creation date of the last row of the previous page, or null if it has none.
+ * @param id        The primary key of the last row of the previous page.
+ */
+public record Cursor(Instant createdAt, long id) implements PageCursor {
+    private static final int ENCODED_BYTES = Long.BYTES + Integer.BYTES + Long.BYTES;
+    private static final int UNDATED_ENCODED_BYTES = Long.BYTES;
+
+    /**
+     * Creates a cursor from a local creation date. The date is encoded as if it were in UTC, which is only
+     * meant to be read back by {@link #localCreatedAt()}.
+     */
+    public static Cursor of(LocalDateTime createdAt, long id) {
+        return new Cursor(createdAt != null ? createdAt.toInstant(ZoneOffset.UTC) : null, id);
+    }
+
+    public LocalDateTime localCreatedAt() {
+        return createdAt != null ? LocalDateTime.ofInstant(createdAt, ZoneOffset.UTC) : null;
+    }
+
+    @Override
+    public String encode() {
+        if (createdAt == null) {
+            var buffer = ByteBuffer.allocate(UNDATED_ENCODED_BYTES).putLong(id);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+        }
+
+        var buffer = ByteBuffer.allocate(ENCODED_BYTES)
+            .putLong(createdAt.getEpochSecond())
+            .putInt(createdAt.getNano())
+            .putLong(id);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    /**
+     * Decodes a cursor given by a client.
+     *
+     * @param cursor The opaque cursor, or null for the first page.
+     * @return The decoded cursor, or null for the first page.
+     * @throws BadRequestException If the cursor is malformed.
+     */
+    public static Cursor parse(String cursor) throws BadRequestException {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+
+        try {
+            var bytes = Base64.getUrlDecoder().decode(cursor);
+            if (bytes.length == UNDATED_ENCODED_BYTES) {
+                return new Cursor(null, ByteBuffer.wrap(bytes).getLong());
+            }
+            if (bytes.length != ENCODED_BYTES) {
+                throw new IllegalArgumentException("Invalid cursor length");
+            }
+            var buffer = ByteBuffer.wrap(bytes);
+            var createdAt = Instant.ofEpochSecond(buffer.getLong(), buffer.getInt());
+            return new Cursor(createdAt, buffer.getLong());
+        } catch (IllegalArgumentException | BufferUnderflowException | DateTimeException exception) {
+            throw new BadRequestException("The provided cursor is invalid", "invalid_cursor", exception);
+        }
+    }
+}
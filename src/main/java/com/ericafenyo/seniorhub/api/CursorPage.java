@@ -0,0 +1,84 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (C) 2024 Eric Afenyo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.ericafenyo.seniorhub.api;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A page of a listing, along with the cursor to the next page.
+ *
+ * @param items      The items of the page.
+ * @param nextCursor The cursor to pass to get the next page, or null if this is the last page.
+ * @param <T>        The type of the items.
+ */
+public record CursorPage<T>(List<T> items, String nextCursor) {
+    /**
+     * The number of items of a page when the client does not ask for a specific limit.
+     */
+    public static final int DEFAULT_LIMIT = 50;
+
+    /**
+     * The maximum number of items of a page.
+     */
+    public static final int MAX_LIMIT = 100;
+
+    /**
+     * Restricts a limit requested by a client to the allowed range.
+     */
+    public static int clamp(int limit) {
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+    /**
+     * Builds a page from rows fetched with one more row than the limit, the extra row only telling whether a next
+     * page exists.
+     *
+     * @param rows   The rows, at most {@code limit + 1}.
+     * @param limit  The number of items of the page.
+     * @param cursor The function giving the cursor of a row.
+     * @param mapper The function mapping a row to an item.
+     * @param <E>    The type of the rows.
+     * @param <T>    The type of the items.
+     * @return The page.
+     */
+    public static <E, T> CursorPage<T> of(
+        List<E> rows,
+        int limit,
+        Function<? super E, ? extends PageCursor> cursor,
+        Function<? super E, ? extends T> mapper
+    ) {
+        int size = Math.min(rows.size(), limit);
+
+        var items = new ArrayList<T>(size);
+        for (int i = 0; i < size; i++) {
+            items.add(mapper.apply(rows.get(i)));
+        }
+
+        String next = rows.size() > limit ? cursor.apply(rows.get(size - 1)).encode() : null;
+        return new CursorPage<>(items, next);
+    }
+}
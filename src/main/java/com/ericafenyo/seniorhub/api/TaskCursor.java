@@ -0,0 +1,114 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (C) 2024 Eric Afenyo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.ericafenyo.seniorhub.api;
+
+import com.ericafenyo.seniorhub.exceptions.BadRequestException;
+import com.ericafenyo.seniorhub.model.TaskSort;
+import com.ericafenyo.seniorhub.projections.TaskView;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * The position of a task in a listing of the tasks of a team, in the given order.
+ * <p>
+ * Only the key of the order is set: the creation date when sorting by creation date, the due date when sorting by
+ * due date. Either may be null, for tasks without a due date or created before creation dates were recorded.
+ *
+ * @param sort      The order of the listing.
+ * @param createdAt The creation date of the last task of the previous page.
+ * @param dueDate   The due date of the last task of the previous page.
+ * @param id        The primary key of the last task of the previous page.
+ */
+public record TaskCursor(TaskSort sort, Instant createdAt, LocalDate dueDate, long id) implements PageCursor {
+    private static final int ENCODED_BYTES = Byte.BYTES + Byte.BYTES + Long.BYTES + Integer.BYTES + Long.BYTES;
+
+    /**
+     * Creates the cursor pointing at the given task.
+     */
+    public static TaskCursor of(TaskSort sort, TaskView task) {
+        return sort.isByDueDate()
+            ? new TaskCursor(sort, null, task.dueDate(), task.id())
+            : new TaskCursor(sort, task.createdAt(), null, task.id());
+    }
+
+    @Override
+    public String encode() {
+        var buffer = ByteBuffer.allocate(ENCODED_BYTES).put((byte) sort.ordinal());
+        if (sort.isByDueDate()) {
+            buffer.put((byte) (dueDate != null ? 1 : 0))
+                .putLong(dueDate != null ? dueDate.toEpochDay() : 0)
+                .putInt(0);
+        } else {
+            buffer.put((byte) (createdAt != null ? 1 : 0))
+                .putLong(createdAt != null ? createdAt.getEpochSecond() : 0)
+                .putInt(createdAt != null ? createdAt.getNano() : 0);
+        }
+        buffer.putLong(id);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    /**
+     * Decodes a cursor given by a client.
+     *
+     * @param cursor The opaque cursor, or null for the first page.
+     * @param sort   The order of the requested listing, which must be the one the cursor was created for.
+     * @return The decoded cursor, or null for the first page.
+     * @throws BadRequestException If the cursor is malformed, or was created for another order.
+     */
+    public static TaskCursor parse(String cursor, TaskSort sort) throws BadRequestException {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+
+        try {
+            var bytes = Base64.getUrlDecoder().decode(cursor);
+            if (bytes.length != ENCODED_BYTES) {
+                throw new IllegalArgumentException("Invalid cursor length");
+            }
+
+            var buffer = ByteBuffer.wrap(bytes);
+            if (buffer.get() != sort.ordinal()) {
+                throw new IllegalArgumentException("Cursor created for another order");
+            }
+
+            boolean hasKey = buffer.get() == 1;
+            long key = buffer.getLong();
+            int nanos = buffer.getInt();
+            long id = buffer.getLong();
+
+            if (sort.isByDueDate()) {
+                return new TaskCursor(sort, null, hasKey ? LocalDate.ofEpochDay(key) : null, id);
+            }
+            return new TaskCursor(sort, hasKey ? Instant.ofEpochSecond(key, nanos) : null, null, id);
+        } catch (IllegalArgumentException | BufferUnderflowException | DateTimeException exception) {
+            throw new BadRequestException("The provided cursor is invalid", "invalid_cursor", exception);
+        }
+    }
+}
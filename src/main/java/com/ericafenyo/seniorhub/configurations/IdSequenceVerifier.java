@@ -0,0 +1,93 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (C) 2024 Eric Afenyo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.ericafenyo.seniorhub.configurations;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Refuses to start the application when an id generator would hand out ids already taken.
+ * <p>
+ * MySQL has no sequences, so Hibernate backs each id generator with a one-row {@code <table>_seq} table. On a
+ * database created before the generators existed, {@code ddl-auto} creates those tables starting at 1, and the first
+ * inserts would fail on duplicate keys, or worse, long after startup. The sequence changeSets of the changelog raise
+ * the tables past the largest id; this check makes sure they have been applied before any id is drawn.
+ */
+@Slf4j
+@Component
+public class IdSequenceVerifier {
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdSequenceVerifier(EntityManagerFactory entityManagerFactory, JdbcTemplate jdbcTemplate) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    void verify() {
+        List<String> behind = new ArrayList<>();
+        entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+            .getMappingMetamodel()
+            .forEachEntityDescriptor(persister -> {
+                if (!(persister.getGenerator() instanceof SequenceStyleGenerator generator)
+                    || !(persister instanceof AbstractEntityPersister entityPersister)
+                    || !persister.getEntityName().equals(persister.getRootEntityName())) {
+                    return;
+                }
+
+                // Real sequences are not created by ddl-auto over existing rows, only the emulating tables are
+                var structure = generator.getDatabaseStructure();
+                if (structure.isPhysicalSequence()) {
+                    return;
+                }
+
+                var sequence = structure.getPhysicalName().render();
+                var table = entityPersister.getTableName();
+                var column = entityPersister.getIdentifierColumnNames()[0];
+
+                var nextValue = jdbcTemplate.queryForObject("SELECT MAX(next_val) FROM " + sequence, Long.class);
+                var maxId = jdbcTemplate.queryForObject("SELECT MAX(" + column + ") FROM " + table, Long.class);
+                if (maxId != null && (nextValue == null || nextValue <= maxId)) {
+                    behind.add(sequence + " (next_val " + nextValue + ", largest id in " + table + " " + maxId + ")");
+                }
+            });
+
+        if (!behind.isEmpty()) {
+            throw new IllegalStateException("Id sequences behind the existing rows, apply the sequence changeSets of "
+                + "the changelog before starting the application: " + String.join(", ", behind));
+        }
+        log.debug("Id sequences are ahead of the existing rows");
+    }
+}
@@ -24,9 +24,12 @@
 
 package com.ericafenyo.seniorhub.configurations;
 
+import com.ericafenyo.seniorhub.EnvironmentVariables;
 import com.ericafenyo.seniorhub.filters.JwtAuthenticationFilter;
 import com.ericafenyo.seniorhub.security.AuthenticationEntryPoint;
 import com.ericafenyo.seniorhub.security.AccessDeniedHandler;
+import com.ericafenyo.seniorhub.security.BoundedPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -42,6 +45,8 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.time.Duration;
+
 @Configuration
 public class SecurityConfiguration {
 
@@ -58,6 +63,7 @@ public class SecurityConfiguration {
                 .requestMatchers("/authenticate").permitAll()
                 .requestMatchers("/error").permitAll()
                 .requestMatchers(HttpMethod.POST, "/users").permitAll()
+                .requestMatchers(HttpMethod.POST, "/auth/refresh").permitAll()
                 .anyRequest().authenticated()
             )
             .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
@@ -70,8 +76,15 @@ public class SecurityConfiguration {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(EnvironmentVariables environment, MeterRegistry registry) {
+        // Keep bcrypt off the request threads, a burst of logins must not starve the other endpoints
+        return new BoundedPasswordEncoder(
+            new BCryptPasswordEncoder(),
+            environment.getPasswordHashingThreads(),
+            environment.getPasswordHashingQueueCapacity(),
+            Duration.ofMillis(environment.getPasswordHashingMaxWaitMillis()),
+            registry
+        );
     }
 
     @Bean
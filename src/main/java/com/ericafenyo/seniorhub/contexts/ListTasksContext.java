@@ -0,0 +1,59 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (C) 2024 Eric Afenyo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.ericafenyo.seniorhub.contexts;
+
+import com.ericafenyo.seniorhub.model.Priority;
+import com.ericafenyo.seniorhub.model.Task;
+import com.ericafenyo.seniorhub.model.TaskSort;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+/**
+ * The filters, order and page of a listing of the tasks of a team. Unset filters match every task.
+ */
+@Getter
+@Builder(setterPrefix = "set")
+public class ListTasksContext {
+    private String teamId;
+    private Task.Status status;
+    private Priority priority;
+    /**
+     * The first due date matched, inclusive.
+     */
+    private LocalDate dueFrom;
+    /**
+     * The last due date matched, inclusive.
+     */
+    private LocalDate dueTo;
+    /**
+     * The public id of a user the tasks must be assigned to.
+     */
+    private String assigneeId;
+    private TaskSort sort;
+    private String cursor;
+    private int limit;
+}
@@ -27,21 +27,27 @@ package com.ericafenyo.seniorhub.controllers;
 import com.ericafenyo.seniorhub.Constants;
 import com.ericafenyo.seniorhub.api.Tuple;
 import com.ericafenyo.seniorhub.dto.BasicAuthenticateRequest;
+import com.ericafenyo.seniorhub.dto.RefreshTokenRequest;
 import com.ericafenyo.seniorhub.dto.VerifyEmailDto;
 import com.ericafenyo.seniorhub.exceptions.HttpException;
+import com.ericafenyo.seniorhub.filters.JwtAuthenticationFilter;
 import com.ericafenyo.seniorhub.model.Report;
 import com.ericafenyo.seniorhub.model.Tokens;
 import com.ericafenyo.seniorhub.services.AccountService;
 import com.ericafenyo.seniorhub.services.EmailPasswordAuthenticationService;
 import com.ericafenyo.seniorhub.services.JwtAuthenticationService;
 import com.ericafenyo.seniorhub.services.MailService;
+import com.ericafenyo.seniorhub.services.RefreshTokenService;
+import com.ericafenyo.seniorhub.services.TokenRevocationService;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -52,19 +58,31 @@ public class AuthenticationController {
   private final JwtAuthenticationService jwtAuthenticationService;
   private final EmailPasswordAuthenticationService emailPasswordAuthenticationService;
   private final AccountService accountService;
+  private final TokenRevocationService tokenRevocationService;
+  private final RefreshTokenService refreshTokenService;
 
   @PostMapping("/auth/login")
   public Tokens authenticate(@RequestBody BasicAuthenticateRequest request) throws HttpException {
     emailPasswordAuthenticationService.authenticate(request.getEmail(), request.getPassword());
 
-    // Generate token
+    // Generate tokens
     var account = accountService.getAccount(request.getEmail());
-    String token = jwtAuthenticationService.sign(account);
+    return refreshTokenService.issue(account);
+  }
+
+  @PostMapping("/auth/refresh")
+  public Tokens refresh(@RequestBody @Valid RefreshTokenRequest request) throws HttpException {
+    return refreshTokenService.refresh(request.getRefreshToken());
+  }
+
+  @PostMapping("/auth/logout")
+  public Report logout(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorization) {
+    // The request went through the authentication filter, so the token is valid and not yet revoked
+    JwtAuthenticationFilter.extractBearerToken(authorization)
+        .flatMap(jwtAuthenticationService::parse)
+        .ifPresent(tokenRevocationService::revoke);
 
-    return Tokens.builder()
-        .refreshToken("")
-        .accessToken(token)
-        .build();
+    return new Report("Logged out successfully");
   }
 
   @PostMapping("/auth/verify-email")
@@ -24,14 +24,15 @@
 
 package com.ericafenyo.seniorhub.controllers;
 
+import com.ericafenyo.seniorhub.api.CursorPage;
 import com.ericafenyo.seniorhub.dto.CreateEventRequest;
 import com.ericafenyo.seniorhub.dto.UpdateEventRequest;
 import com.ericafenyo.seniorhub.model.Event;
+import com.ericafenyo.seniorhub.monitoring.SqlBudget;
 import com.ericafenyo.seniorhub.services.EventService;
 import jakarta.validation.Valid;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 
 @RestController
 public class EventController {
@@ -43,8 +44,12 @@ public class EventController {
   }
 
   @GetMapping("events")
-  public List<Event> getEvents() throws Exception {
-    return service.getEvents();
+  @SqlBudget(statements = 4)
+  public CursorPage<Event> getEvents(
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit
+  ) throws Exception {
+    return service.getEvents(cursor, limit);
   }
 
   @GetMapping("events/{id}")
@@ -24,9 +24,13 @@
 
 package com.ericafenyo.seniorhub.controllers;
 
+import com.ericafenyo.seniorhub.api.CursorPage;
+import com.ericafenyo.seniorhub.model.Role;
+import com.ericafenyo.seniorhub.monitoring.SqlBudget;
 import com.ericafenyo.seniorhub.services.RoleService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -36,7 +40,11 @@ public class RoleController {
 
     // return a list of roles
     @GetMapping("/roles")
-    public Object getRoles() {
-        return service.getRoles();
+    @SqlBudget(statements = 4)
+    public CursorPage<Role> getRoles(
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit
+    ) throws Exception {
+        return service.getRoles(cursor, limit);
     }
 }
@@ -24,22 +24,35 @@
 
 package com.ericafenyo.seniorhub.controllers;
 
+import com.ericafenyo.seniorhub.api.CursorPage;
 import com.ericafenyo.seniorhub.contexts.CreateTaskContext;
+import com.ericafenyo.seniorhub.contexts.ListTasksContext;
+import com.ericafenyo.seniorhub.dto.BatchInvitationRequest;
 import com.ericafenyo.seniorhub.dto.CreateTeamRequest;
 
 import com.ericafenyo.seniorhub.dto.InvitationRequest;
 import com.ericafenyo.seniorhub.dto.UpdateTeamRequest;
 import com.ericafenyo.seniorhub.exceptions.HttpException;
 import com.ericafenyo.seniorhub.model.Invitation;
+import com.ericafenyo.seniorhub.model.InvitationResult;
+import com.ericafenyo.seniorhub.model.Priority;
 import com.ericafenyo.seniorhub.model.Task;
+import com.ericafenyo.seniorhub.model.TaskSort;
 import com.ericafenyo.seniorhub.model.Team;
+import com.ericafenyo.seniorhub.model.TeamSummary;
+import com.ericafenyo.seniorhub.monitoring.SqlBudget;
 import com.ericafenyo.seniorhub.requests.CreateTaskRequest;
+import com.ericafenyo.seniorhub.services.AgendaService;
+import com.ericafenyo.seniorhub.services.ExportService;
 import com.ericafenyo.seniorhub.services.TeamService;
 import com.ericafenyo.seniorhub.util.Accounts;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import lombok.RequiredArgsConstructor;
 import org.hibernate.validator.constraints.UUID;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -48,8 +61,11 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -57,6 +73,8 @@ import java.util.List;
 @CrossOrigin(origins = "*")
 public class TeamController {
     private final TeamService service;
+    private final ExportService exportService;
+    private final AgendaService agendaService;
 
     @PostMapping("/teams")
     public Team createTeam(
@@ -68,8 +86,20 @@ public class TeamController {
     }
 
     @GetMapping("/teams")
-    public List<Team> getTeams() {
-        return service.getTeams();
+    @SqlBudget(statements = 4)
+    public CursorPage<Team> getTeams(
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit
+    ) throws Exception {
+        return service.getTeams(cursor, limit);
+    }
+
+    @GetMapping("/teams/export")
+    @SqlBudget(statements = 4)
+    public ResponseEntity<StreamingResponseBody> exportTeams() {
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(exportService.exportTeams());
     }
 
     @GetMapping("/teams/{id}")
@@ -90,6 +120,11 @@ public class TeamController {
         service.deleteTeam(id);
     }
 
+    @GetMapping("/teams/{id}/summary")
+    public TeamSummary getTeamSummary(@PathVariable String id) throws HttpException {
+        return service.getTeamSummary(id);
+    }
+
     // Invitation sub-resources
 
     @PostMapping("/teams/{id}/invitations")
@@ -102,6 +137,16 @@ public class TeamController {
         return service.invite(teamId, userId, request.getRole(), request.getEmail());
     }
 
+    @PostMapping("/teams/{id}/invitations:batch")
+    public List<InvitationResult> inviteAll(
+        @PathVariable("id") String teamId,
+        @RequestBody() @Valid BatchInvitationRequest request,
+        Authentication authentication
+    ) throws HttpException {
+        var userId = Accounts.extractUserId(authentication);
+        return service.inviteAll(teamId, userId, request.getInvitations());
+    }
+
     // Task sub-resources
 
     @PostMapping("/teams/{id}/tasks")
@@ -120,4 +165,44 @@ public class TeamController {
 
         return service.createTask(context);
     }
+
+    @GetMapping("/teams/{id}/tasks")
+    @SqlBudget(statements = 5)
+    public CursorPage<Task> getTasks(
+        @PathVariable String id,
+        @RequestParam(required = false) Task.Status status,
+        @RequestParam(required = false) Priority priority,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueFrom,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueTo,
+        @RequestParam(required = false) String assignee,
+        @RequestParam(defaultValue = "-created_at") String sort,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit
+    ) throws HttpException {
+
+        var context = ListTasksContext.builder()
+            .setTeamId(id)
+            .setStatus(status)
+            .setPriority(priority)
+            .setDueFrom(dueFrom)
+            .setDueTo(dueTo)
+            .setAssigneeId(assignee)
+            .setSort(TaskSort.parse(sort))
+            .setCursor(cursor)
+            .setLimit(limit)
+            .build();
+
+        return service.getTasks(context);
+    }
+
+    @GetMapping("/teams/{id}/agenda")
+    public ResponseEntity<StreamingResponseBody> getAgenda(
+        @PathVariable String id,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) throws HttpException {
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(agendaService.getAgenda(id, from, to));
+    }
 }
@@ -24,16 +24,21 @@
 
 package com.ericafenyo.seniorhub.controllers;
 
+import com.ericafenyo.seniorhub.api.CursorPage;
 import com.ericafenyo.seniorhub.dto.CreateTeamRequest;
 import com.ericafenyo.seniorhub.dto.CreateUserRequest;
 import com.ericafenyo.seniorhub.dto.UserUpdateDto;
 import com.ericafenyo.seniorhub.exceptions.HttpException;
 import com.ericafenyo.seniorhub.model.Team;
 import com.ericafenyo.seniorhub.model.User;
+import com.ericafenyo.seniorhub.monitoring.SqlBudget;
+import com.ericafenyo.seniorhub.services.ExportService;
 import com.ericafenyo.seniorhub.services.UserService;
 import com.ericafenyo.seniorhub.util.Accounts;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -42,7 +47,9 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -51,6 +58,7 @@ import java.util.List;
 @RequiredArgsConstructor
 public class UserController {
     private final UserService service;
+    private final ExportService exportService;
 
     @PostMapping("/users")
     public User createUser(@Valid @RequestBody CreateUserRequest request) throws Exception {
@@ -58,8 +66,20 @@ public class UserController {
     }
 
     @GetMapping("/users")
-    public List<User> getUsers() {
-        return service.getUsers();
+    @SqlBudget(statements = 4)
+    public CursorPage<User> getUsers(
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit
+    ) throws Exception {
+        return service.getUsers(cursor, limit);
+    }
+
+    @GetMapping("/users/export")
+    @SqlBudget(statements = 4)
+    public ResponseEntity<StreamingResponseBody> exportUsers() {
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(exportService.exportUsers());
     }
 
     @GetMapping("/users/{id}")
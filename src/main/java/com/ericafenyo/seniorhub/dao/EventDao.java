@@ -25,12 +25,13 @@
 package com.ericafenyo.seniorhub.dao;
 
 import com.ericafenyo.seniorhub.entities.EventEntity;
+import com.ericafenyo.seniorhub.repository.KeysetPageRepository;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
 
 @Repository
-public interface EventDao extends CrudRepository<EventEntity, Long> {
+public interface EventDao extends CrudRepository<EventEntity, Long>, KeysetPageRepository {
   Optional<EventEntity> findByUuid(String uuid);
 }
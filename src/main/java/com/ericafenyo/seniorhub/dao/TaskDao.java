@@ -0,0 +1,43 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (C) 2024 Eric Afenyo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.ericafenyo.seniorhub.dao;
+
+import com.ericafenyo.seniorhub.api.TaskCursor;
+import com.ericafenyo.seniorhub.contexts.ListTasksContext;
+import com.ericafenyo.seniorhub.projections.TaskView;
+
+import java.util.List;
+
+public interface TaskDao {
+  /**
+   * Returns a page of the tasks of a team matching the filters of the context, in the order of the context.
+   *
+   * @param teamId  The primary key of the team.
+   * @param context The filters and order of the listing.
+   * @param after   The position of the last task of the previous page, or null for the first page.
+   * @param limit   The maximum number of tasks returned.
+   */
+  List<TaskView> findPage(Long teamId, ListTasksContext context, TaskCursor after, int limit);
+}
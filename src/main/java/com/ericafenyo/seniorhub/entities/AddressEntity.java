@@ -24,8 +24,13 @@
 
 package com.ericafenyo.seniorhub.entities;
 
+import com.ericafenyo.seniorhub.Constants;
+import com.ericafenyo.seniorhub.entities.converters.BinaryUuidConverter;
+import com.ericafenyo.seniorhub.entities.generators.PublicId;
+import com.ericafenyo.seniorhub.entities.generators.PublicIdListener;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
@@ -33,23 +38,27 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.Data;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
-import java.util.UUID;
 
 /**
  * A database entity for an address with country, city, street, and postal code information.
  */
 @Entity(name = "addresses")
-@EntityListeners(AuditingEntityListener.class)
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_addresses_uuid", columnNames = "uuid"))
+@EntityListeners({AuditingEntityListener.class, PublicIdListener.class})
 @Data
 public class AddressEntity {
     /**
      * The unique identifier for the address.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "addresses_id")
+    @SequenceGenerator(name = "addresses_id", sequenceName = "addresses_seq", allocationSize = Constants.ID_ALLOCATION_SIZE)
     @Column(name = "id")
     private Long id;
 
@@ -58,8 +67,10 @@ public class AddressEntity {
      * <p>
      * This is the actual id revealed publicly, the primary id is kept internally.
      */
-    @Column(name = "uuid", unique = true)
-    private String uuid = UUID.randomUUID().toString();
+    @Column(name = "uuid", columnDefinition = "BINARY(16)")
+    @Convert(converter = BinaryUuidConverter.class)
+    @PublicId
+    private String uuid;
     ;
     /**
      * Indicates a precise street address.
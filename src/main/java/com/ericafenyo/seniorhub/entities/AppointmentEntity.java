@@ -24,15 +24,24 @@
 
 package com.ericafenyo.seniorhub.entities;
 
+import com.ericafenyo.seniorhub.Constants;
+import com.ericafenyo.seniorhub.entities.converters.BinaryUuidConverter;
+import com.ericafenyo.seniorhub.entities.generators.PublicId;
+import com.ericafenyo.seniorhub.entities.generators.PublicIdListener;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.Data;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
@@ -40,19 +49,25 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.Instant;
 import java.time.LocalDateTime;
-import java.util.UUID;
 
 @Entity(name = "appointments")
-@EntityListeners(AuditingEntityListener.class)
+@Table(
+    indexes = @Index(name = "idx_appointments_team_start_date_id", columnList = "team_id, start_date, id"),
+    uniqueConstraints = @UniqueConstraint(name = "uk_appointments_uuid", columnNames = "uuid")
+)
+@EntityListeners({AuditingEntityListener.class, PublicIdListener.class})
 @Data
 public class AppointmentEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "appointments_id")
+    @SequenceGenerator(name = "appointments_id", sequenceName = "appointments_seq", allocationSize = Constants.ID_ALLOCATION_SIZE)
     @Column(name = "id")
     private Long id;
 
-    @Column(name = "uuid", unique = true)
-    private String uuid = UUID.randomUUID().toString();
+    @Column(name = "uuid", columnDefinition = "BINARY(16)")
+    @Convert(converter = BinaryUuidConverter.class)
+    @PublicId
+    private String uuid;
 
     @Column(name = "title")
     private String title;
@@ -24,8 +24,13 @@
 
 package com.ericafenyo.seniorhub.entities;
 
+import com.ericafenyo.seniorhub.Constants;
+import com.ericafenyo.seniorhub.entities.converters.BinaryUuidConverter;
+import com.ericafenyo.seniorhub.entities.generators.PublicId;
+import com.ericafenyo.seniorhub.entities.generators.PublicIdListener;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
@@ -33,13 +38,15 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.Data;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.Instant;
-import java.util.UUID;
 
 /**
  * Entity class representing user credentials.
@@ -47,7 +54,8 @@ import java.util.UUID;
  * <p>The {@code CredentialEntity} class is mapped to the "credentials" table in the database.
  */
 @Entity(name = "credentials")
-@EntityListeners(AuditingEntityListener.class)
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_credentials_uuid", columnNames = "uuid"))
+@EntityListeners({AuditingEntityListener.class, PublicIdListener.class})
 @Data
 public class CredentialEntity {
 
@@ -55,7 +63,8 @@ public class CredentialEntity {
      * The unique identifier for the credential.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "credentials_id")
+    @SequenceGenerator(name = "credentials_id", sequenceName = "credentials_seq", allocationSize = Constants.ID_ALLOCATION_SIZE)
     @Column(name = "id")
     private Long id;
 
@@ -64,8 +73,10 @@ public class CredentialEntity {
      * <p>
      * This is the actual id revealed publicly, the primary id is kept internally.
      */
-    @Column(name = "uuid", unique = true)
-    private String uuid = UUID.randomUUID().toString();
+    @Column(name = "uuid", columnDefinition = "BINARY(16)")
+    @Convert(converter = BinaryUuidConverter.class)
+    @PublicId
+    private String uuid;
 
     /**
      * The password associated with the credential.
@@ -24,12 +24,20 @@
 
 package com.ericafenyo.seniorhub.entities;
 
+import com.ericafenyo.seniorhub.Constants;
+import com.ericafenyo.seniorhub.entities.converters.BinaryUuidConverter;
+import com.ericafenyo.seniorhub.entities.generators.PublicId;
+import com.ericafenyo.seniorhub.entities.generators.PublicIdListener;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
 import lombok.Data;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
@@ -40,15 +48,19 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 
 @Entity(name = "events")
-@EntityListeners(AuditingEntityListener.class)
+@Table(indexes = @Index(name = "idx_events_created_at_id", columnList = "created_at, id"))
+@EntityListeners({AuditingEntityListener.class, PublicIdListener.class})
 @Data
 public class EventEntity {
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "events_id")
+  @SequenceGenerator(name = "events_id", sequenceName = "events_seq", allocationSize = Constants.ID_ALLOCATION_SIZE)
   @Column(name = "id")
   private Long id;
 
-  @Column(name = "uuid")
+  @Column(name = "uuid", columnDefinition = "BINARY(16)")
+  @Convert(converter = BinaryUuidConverter.class)
+  @PublicId
   private String uuid;
 
   @Column(name = "name")
@@ -24,8 +24,13 @@
 
 package com.ericafenyo.seniorhub.entities;
 
+import com.ericafenyo.seniorhub.Constants;
+import com.ericafenyo.seniorhub.entities.converters.BinaryUuidConverter;
+import com.ericafenyo.seniorhub.entities.generators.PublicId;
+import com.ericafenyo.seniorhub.entities.generators.PublicIdListener;
 import com.ericafenyo.seniorhub.model.Invitation;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
@@ -35,6 +40,9 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
@@ -44,20 +52,21 @@ import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.Instant;
-import java.util.UUID;
 
 /**
  * A database entity representing an invitation to add a member to a team.
  */
 @Entity(name = "invitations")
-@EntityListeners(AuditingEntityListener.class)
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_invitations_uuid", columnNames = "uuid"))
+@EntityListeners({AuditingEntityListener.class, PublicIdListener.class})
 @Getter @Setter @ToString @Accessors(chain = true)
 public class InvitationEntity {
     /**
      * The unique identifier for the entity.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "invitations_id")
+    @SequenceGenerator(name = "invitations_id", sequenceName = "invitations_seq", allocationSize = Constants.ID_ALLOCATION_SIZE)
     @Column(name = "id")
     private Long id;
 
@@ -66,8 +75,10 @@ public class InvitationEntity {
      * <p>
      * This is the actual id revealed publicly, the primary id is kept internally.
      */
-    @Column(name = "uuid", unique = true, nullable = false)
-    private String uuid = UUID.randomUUID().toString();
+    @Column(name = "uuid", nullable = false, columnDefinition = "BINARY(16)")
+    @Convert(converter = BinaryUuidConverter.class)
+    @PublicId
+    private String uuid;
 
     /**
      * The email address of the invitation recipient
@@ -83,10 +94,10 @@ public class InvitationEntity {
     private Invitation.Status status = Invitation.Status.PENDING;
 
     /**
-     * The token associated with the invitation
+     * The SHA-256 hash of the token associated with the invitation
      */
-    @Column(name = "token", unique = true, nullable = false)
-    private String token;
+    @Column(name = "token_hash", unique = true, nullable = false, columnDefinition = "BINARY(32)")
+    private byte[] tokenHash;
 
     /**
      * The role that will be assigned to the member upon acceptance
@@ -0,0 +1,164 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (C) 2024 Eric Afenyo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.ericafenyo.seniorhub.entities;
+
+import com.ericafenyo.seniorhub.Constants;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.experimental.Accessors;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.Instant;
+
+/**
+ * A database entity representing an email waiting to be delivered.
+ * <p>
+ * Emails are written to the outbox in the transaction of the operation producing them, and delivered later by
+ * a background dispatcher. Delivered emails are removed from the outbox.
+ */
+@Entity(name = "mail_outbox")
+@Table(indexes = {
+    @Index(name = "idx_mail_outbox_status_next_attempt_at", columnList = "status, next_attempt_at")
+})
+@EntityListeners(AuditingEntityListener.class)
+@Getter @Setter @ToString(exclude = "body") @Accessors(chain = true)
+public class MailOutboxEntity {
+    /**
+     * The unique identifier for the entity.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "mail_outbox_id")
+    @SequenceGenerator(name = "mail_outbox_id", sequenceName = "mail_outbox_seq", allocationSize = Constants.ID_ALLOCATION_SIZE)
+    @Column(name = "id")
+    private Long id;
+
+    /**
+     * The email address of the sender.
+     */
+    @Column(name = "sender", nullable = false)
+    private String sender;
+
+    /**
+     * The email address of the recipient.
+     */
+    @Column(name = "recipient", nullable = false)
+    private String recipient;
+
+    /**
+     * The email address the email is copied to.
+     */
+    @Column(name = "cc")
+    private String cc;
+
+    /**
+     * The email address the email is blind copied to.
+     */
+    @Column(name = "bcc")
+    private String bcc;
+
+    /**
+     * The subject of the email.
+     */
+    @Column(name = "subject", nullable = false)
+    private String subject;
+
+    /**
+     * The HTML body of the email.
+     */
+    @Column(name = "body", nullable = false, columnDefinition = "MEDIUMTEXT")
+    private String body;
+
+    /**
+     * The delivery status of the email.
+     */
+    @Column(name = "status", nullable = false, length = 16)
+    @Enumerated(EnumType.STRING)
+    private Status status = Status.PENDING;
+
+    /**
+     * The number of delivery attempts made so far.
+     */
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    /**
+     * The time from which the email may be picked up by the dispatcher.
+     * <p>
+     * While the email is being sent, this is the time after which the attempt is considered abandoned.
+     */
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt;
+
+    /**
+     * The error of the last failed attempt.
+     */
+    @Column(name = "last_error", length = 1024)
+    private String lastError;
+
+    /**
+     * The date and time when the email was queued.
+     */
+    @CreatedDate
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    /**
+     * The date and time when the email was last updated.
+     */
+    @LastModifiedDate
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    public enum Status {
+        /**
+         * The email is waiting for its next delivery attempt.
+         */
+        PENDING,
+
+        /**
+         * The email has been claimed by a dispatcher and is being sent.
+         */
+        SENDING,
+
+        /**
+         * Every delivery attempt failed, the email will not be retried.
+         */
+        DEAD
+    }
+}
@@ -24,14 +24,23 @@
 
 package com.ericafenyo.seniorhub.entities;
 
+import com.ericafenyo.seniorhub.Constants;
+import com.ericafenyo.seniorhub.entities.converters.BinaryUuidConverter;
+import com.ericafenyo.seniorhub.entities.generators.PublicId;
+import com.ericafenyo.seniorhub.entities.generators.PublicIdListener;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.data.annotation.CreatedDate;
@@ -40,20 +49,26 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.Instant;
 import java.time.LocalDateTime;
-import java.util.UUID;
 
 @Entity(name = "medications")
-@EntityListeners(AuditingEntityListener.class)
+@Table(
+    indexes = @Index(name = "idx_medications_team_start_date_end_date", columnList = "team_id, start_date, end_date"),
+    uniqueConstraints = @UniqueConstraint(name = "uk_medications_uuid", columnNames = "uuid")
+)
+@EntityListeners({AuditingEntityListener.class, PublicIdListener.class})
 @Setter
 @Getter
 public class MedicationEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "medications_id")
+    @SequenceGenerator(name = "medications_id", sequenceName = "medications_seq", allocationSize = Constants.ID_ALLOCATION_SIZE)
     @Column(name = "id")
     private Long id;
 
-    @Column(name = "uuid", unique = true)
-    private String uuid = UUID.randomUUID().toString();
+    @Column(name = "uuid", columnDefinition = "BINARY(16)")
+    @Convert(converter = BinaryUuidConverter.class)
+    @PublicId
+    private String uuid;
 
     @Column(name = "name")
     private String name;
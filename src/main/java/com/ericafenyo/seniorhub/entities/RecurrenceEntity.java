@@ -24,6 +24,7 @@
 
 package com.ericafenyo.seniorhub.entities;
 
+import com.ericafenyo.seniorhub.Constants;
 import com.ericafenyo.seniorhub.model.Frequency;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -33,16 +34,21 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import lombok.Data;
 import lombok.experimental.Accessors;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
+/**
+ * The rule of a recurring task or appointment, see {@link com.ericafenyo.seniorhub.recurrence.RecurrenceRule}.
+ */
 @Entity(name = "recurrences")
 @EntityListeners(AuditingEntityListener.class)
 @Data @Accessors(chain = true)
 public class RecurrenceEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "recurrences_id")
+    @SequenceGenerator(name = "recurrences_id", sequenceName = "recurrences_seq", allocationSize = Constants.ID_ALLOCATION_SIZE)
     @Column(name = "id")
     private Long id;
 
@@ -50,18 +56,33 @@ public class RecurrenceEntity {
     @Enumerated(EnumType.STRING)
     private Frequency frequency;
 
+    /**
+     * The maximum number of occurrences of the series, 0 for no limit.
+     */
     @Column(name = "count")
     private int count = 0;
 
+    /**
+     * The number of periods of the frequency between two occurrences.
+     */
     @Column(name = "occurrences")
     private int occurrences = 1;
 
+    /**
+     * The ISO day of week, from 1 for Monday to 7 for Sunday.
+     */
     @Column(name = "day_of_week")
     private int dayOfWeek = 1;
 
+    /**
+     * The week of month of the day of week, from 1 to 5, or -1 for the last one.
+     */
     @Column(name = "week_of_month")
     private int weekOfMonth = 1;
 
+    /**
+     * The day of month, or 0 to use the day of week in the week of month instead.
+     */
     @Column(name = "day_of_month")
     private int dayOfMonth = 1;
 
@@ -0,0 +1,112 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (C) 2024 Eric Afenyo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.ericafenyo.seniorhub.entities;
+
+import com.ericafenyo.seniorhub.Constants;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.experimental.Accessors;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.Instant;
+
+/**
+ * A database entity representing a refresh token issued to a user.
+ * <p>
+ * Only the hash of the token is stored. Every refresh consumes the token and issues a new one of the same
+ * family, so that presenting an already used token reveals that it has been stolen.
+ */
+@Entity(name = "refresh_tokens")
+@Table(indexes = {
+    @Index(name = "idx_refresh_tokens_token_hash", columnList = "token_hash", unique = true),
+    @Index(name = "idx_refresh_tokens_family", columnList = "family"),
+    @Index(name = "idx_refresh_tokens_user_id", columnList = "user_id")
+})
+@EntityListeners(AuditingEntityListener.class)
+@Getter @Setter @ToString @Accessors(chain = true)
+public class RefreshTokenEntity {
+    /**
+     * The unique identifier for the entity.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "refresh_tokens_id")
+    @SequenceGenerator(name = "refresh_tokens_id", sequenceName = "refresh_tokens_seq", allocationSize = Constants.ID_ALLOCATION_SIZE)
+    @Column(name = "id")
+    private Long id;
+
+    /**
+     * The SHA-256 hash of the token.
+     */
+    @Column(name = "token_hash", nullable = false, columnDefinition = "BINARY(32)")
+    private byte[] tokenHash;
+
+    /**
+     * The identifier shared by all tokens derived from the same login.
+     */
+    @Column(name = "family", nullable = false, length = 36)
+    private String family;
+
+    /**
+     * The public id of the user the token has been issued to.
+     */
+    @Column(name = "user_id", nullable = false, length = 36)
+    private String userId;
+
+    /**
+     * The timestamp indicating when the token should expire.
+     */
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    /**
+     * The timestamp indicating when the token was exchanged for a new one.
+     */
+    @Column(name = "used_at")
+    private Instant usedAt;
+
+    /**
+     * The timestamp indicating when the token was revoked.
+     */
+    @Column(name = "revoked_at")
+    private Instant revokedAt;
+
+    /**
+     * The date and time when the token was created.
+     */
+    @CreatedDate
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
@@ -0,0 +1,68 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (C) 2024 Eric Afenyo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.ericafenyo.seniorhub.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+import java.time.Instant;
+
+/**
+ * A database entity representing a token subject, such as a deleted user, whose tokens issued up to a point in time
+ * must no longer be accepted.
+ */
+@Entity(name = "revoked_subjects")
+@Table(indexes = {
+    @Index(name = "idx_revoked_subjects_expires_at", columnList = "expires_at"),
+    @Index(name = "idx_revoked_subjects_revoked_at", columnList = "revoked_at")
+})
+@Getter @Setter @Accessors(chain = true)
+public class RevokedSubjectEntity {
+    /**
+     * The subject (sub claim) of the revoked tokens.
+     */
+    @Id
+    @Column(name = "subject", length = 64)
+    private String subject;
+
+    /**
+     * The date and time of the revocation, tokens issued up to this time are rejected.
+     */
+    @Column(name = "revoked_at", nullable = false)
+    private Instant revokedAt;
+
+    /**
+     * The timestamp at which the last token issued before the revocation expires, after which the revocation no
+     * longer needs to be kept.
+     */
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+}
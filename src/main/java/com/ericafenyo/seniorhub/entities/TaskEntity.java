@@ -24,11 +24,16 @@
 
 package com.ericafenyo.seniorhub.entities;
 
+import com.ericafenyo.seniorhub.Constants;
+import com.ericafenyo.seniorhub.entities.converters.BinaryUuidConverter;
+import com.ericafenyo.seniorhub.entities.generators.PublicId;
+import com.ericafenyo.seniorhub.entities.generators.PublicIdListener;
 import com.ericafenyo.seniorhub.model.Priority;
 import com.ericafenyo.seniorhub.model.Task;
 import com.ericafenyo.seniorhub.model.Task.Status;
 import com.ericafenyo.seniorhub.model.TaskStatus;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
@@ -36,12 +41,17 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToOne;
-import lombok.Data;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.experimental.Accessors;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
@@ -52,18 +62,28 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
 
 @Entity(name = "tasks")
-@EntityListeners(AuditingEntityListener.class)
-@Data
+@Table(
+    indexes = {
+        @Index(name = "idx_tasks_team_created_at_id", columnList = "team_id, created_at, id"),
+        @Index(name = "idx_tasks_team_due_date_id", columnList = "team_id, due_date, id"),
+        @Index(name = "idx_tasks_team_status_due_date_id", columnList = "team_id, status, due_date, id"),
+        @Index(name = "idx_tasks_team_priority_due_date_id", columnList = "team_id, priority, due_date, id")
+    },
+    uniqueConstraints = @UniqueConstraint(name = "uk_tasks_uuid", columnNames = "uuid")
+)
+@EntityListeners({AuditingEntityListener.class, PublicIdListener.class})
+@Getter
+@Setter
 @Accessors(chain = true)
 public class TaskEntity {
     /**
      * The unique identifier for the task.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_id")
+    @SequenceGenerator(name = "tasks_id", sequenceName = "tasks_seq", allocationSize = Constants.ID_ALLOCATION_SIZE)
     @Column(name = "id")
     private Long id;
 
@@ -72,8 +92,10 @@ public class TaskEntity {
      * <p>
      * This is the actual id revealed publicly, the primary id is kept internally.
      */
-    @Column(name = "uuid", unique = true, nullable = false)
-    private String uuid = UUID.randomUUID().toString();
+    @Column(name = "uuid", nullable = false, columnDefinition = "BINARY(16)")
+    @Convert(converter = BinaryUuidConverter.class)
+    @PublicId
+    private String uuid;
 
     /**
      * The title of the task.
@@ -102,7 +124,8 @@ public class TaskEntity {
     @JoinTable(
         name = "task_user",
         joinColumns = @JoinColumn(name = "task_id", nullable = false),
-        inverseJoinColumns = @JoinColumn(name = "user_id", nullable = false)
+        inverseJoinColumns = @JoinColumn(name = "user_id", nullable = false),
+        indexes = @Index(name = "idx_task_user_user_task", columnList = "user_id, task_id")
     )
     private List<UserEntity> assignees = new ArrayList<>();
 
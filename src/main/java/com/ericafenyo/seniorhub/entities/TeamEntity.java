@@ -24,16 +24,25 @@
 
 package com.ericafenyo.seniorhub.entities;
 
+import com.ericafenyo.seniorhub.Constants;
+import com.ericafenyo.seniorhub.entities.converters.BinaryUuidConverter;
+import com.ericafenyo.seniorhub.entities.generators.PublicId;
+import com.ericafenyo.seniorhub.entities.generators.PublicIdListener;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.data.annotation.CreatedDate;
@@ -43,20 +52,26 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
 
 @Entity(name = "teams")
-@EntityListeners(AuditingEntityListener.class)
+@Table(
+    indexes = @Index(name = "idx_teams_created_at_id", columnList = "created_at, id"),
+    uniqueConstraints = @UniqueConstraint(name = "uk_teams_uuid", columnNames = "uuid")
+)
+@EntityListeners({AuditingEntityListener.class, PublicIdListener.class})
 @Setter
 @Getter
 public class TeamEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "teams_id")
+    @SequenceGenerator(name = "teams_id", sequenceName = "teams_seq", allocationSize = Constants.ID_ALLOCATION_SIZE)
     @Column(name = "id")
     private Long id;
 
-    @Column(name = "uuid", nullable = false, unique = true, length = 36)
-    private String uuid = UUID.randomUUID().toString();
+    @Column(name = "uuid", nullable = false, columnDefinition = "BINARY(16)")
+    @Convert(converter = BinaryUuidConverter.class)
+    @PublicId
+    private String uuid;
 
     @Column(name = "name", nullable = false, unique = true, length = 50)
     private String name;
@@ -72,7 +87,11 @@ public class TeamEntity {
     @JoinTable(
             name = "team_user",
             joinColumns = @JoinColumn(name = "team_id"),
-            inverseJoinColumns = @JoinColumn(name = "user_id")
+            inverseJoinColumns = @JoinColumn(name = "user_id"),
+            uniqueConstraints = @UniqueConstraint(
+                name = "uk_team_user_team_id_user_id",
+                columnNames = {"team_id", "user_id"}
+            )
     )
     private List<UserEntity> members = new ArrayList<>();
 
@@ -0,0 +1,91 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (C) 2024 Eric Afenyo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.ericafenyo.seniorhub.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+import java.time.Instant;
+
+/**
+ * A database entity holding the counters shown on the dashboard of a team.
+ * <p>
+ * The counters are updated incrementally, in the transactions creating, updating or deleting the counted rows, and
+ * any drift is corrected by the periodic rebuild of the summaries. The figures depending on the current time, such as
+ * the overdue tasks, would go stale without any row changing, so they are not stored but counted when read.
+ */
+@Entity(name = "team_summaries")
+@Getter @Setter @Accessors(chain = true)
+public class TeamSummaryEntity {
+    /**
+     * The primary key of the summarized team.
+     */
+    @Id
+    @Column(name = "team_id")
+    private Long teamId;
+
+    @Column(name = "member_count", nullable = false)
+    private long memberCount;
+
+    @Column(name = "tasks_planned", nullable = false)
+    private long tasksPlanned;
+
+    @Column(name = "tasks_started", nullable = false)
+    private long tasksStarted;
+
+    @Column(name = "tasks_completed", nullable = false)
+    private long tasksCompleted;
+
+    @Column(name = "tasks_blocked", nullable = false)
+    private long tasksBlocked;
+
+    @Column(name = "tasks_low", nullable = false)
+    private long tasksLow;
+
+    @Column(name = "tasks_medium", nullable = false)
+    private long tasksMedium;
+
+    @Column(name = "tasks_high", nullable = false)
+    private long tasksHigh;
+
+    @Column(name = "tasks_urgent", nullable = false)
+    private long tasksUrgent;
+
+    /**
+     * The date and time when the counters were last changed.
+     */
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    /**
+     * The date and time when the counters were last recomputed from scratch.
+     */
+    @Column(name = "rebuilt_at")
+    private Instant rebuiltAt;
+}
@@ -24,15 +24,24 @@
 
 package com.ericafenyo.seniorhub.entities;
 
+import com.ericafenyo.seniorhub.Constants;
+import com.ericafenyo.seniorhub.entities.converters.BinaryUuidConverter;
+import com.ericafenyo.seniorhub.entities.generators.PublicId;
+import com.ericafenyo.seniorhub.entities.generators.PublicIdListener;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.data.annotation.CreatedDate;
@@ -41,21 +50,33 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.Instant;
 import java.time.LocalDate;
-import java.util.UUID;
 
 /**
  * A database entity representing an individual or entity who interacts with the application.
  */
 @Entity(name = "users")
-@EntityListeners(AuditingEntityListener.class)
+@Table(
+    indexes = @Index(name = "idx_users_created_at_id", columnList = "created_at, id"),
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_users_uuid", columnNames = "uuid"),
+        @UniqueConstraint(name = UserEntity.EMAIL_CONSTRAINT, columnNames = "email")
+    }
+)
+@EntityListeners({AuditingEntityListener.class, PublicIdListener.class})
 @Getter
 @Setter
 public class UserEntity {
+    /**
+     * The name of the unique constraint on the email, telling a taken email apart from other integrity violations.
+     */
+    public static final String EMAIL_CONSTRAINT = "uk_users_email";
+
     /**
      * The unique identifier for the user.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_id")
+    @SequenceGenerator(name = "users_id", sequenceName = "users_seq", allocationSize = Constants.ID_ALLOCATION_SIZE)
     @Column(name = "id")
     private Long id;
 
@@ -64,8 +85,10 @@ public class UserEntity {
      * <p>
      * This is the actual id revealed publicly, the primary id is kept internally.
      */
-    @Column(name = "uuid", unique = true)
-    private String uuid = UUID.randomUUID().toString();
+    @Column(name = "uuid", columnDefinition = "BINARY(16)")
+    @Convert(converter = BinaryUuidConverter.class)
+    @PublicId
+    private String uuid;
 
     /**
      * The first name of the user.
@@ -88,7 +111,7 @@ public class UserEntity {
     /**
      * The email address of the user.
      */
-    @Column(name = "email", unique = true)
+    @Column(name = "email")
     private String email;
 
     /**
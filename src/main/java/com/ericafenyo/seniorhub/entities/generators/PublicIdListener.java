@@ -0,0 +1,73 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (C) 2024 Eric Afenyo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.ericafenyo.seniorhub.entities.generators;
+
+import com.ericafenyo.seniorhub.util.Uuids;
+import jakarta.persistence.PrePersist;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Assigns the {@link PublicId public id} of an entity when it is persisted, unless one was set before.
+ * <p>
+ * The id is set on the entity handed to {@code persist}, before any statement is executed, so it can be read as soon
+ * as {@code persist} or {@code save} returns, without waiting for the session to flush.
+ */
+public class PublicIdListener {
+    /**
+     * The fields annotated with {@link PublicId}, looked up once per entity class.
+     */
+    private static final ClassValue<List<Field>> FIELDS = new ClassValue<>() {
+        @Override
+        protected List<Field> computeValue(Class<?> type) {
+            var fields = new ArrayList<Field>();
+            for (Class<?> current = type; current != Object.class; current = current.getSuperclass()) {
+                for (Field field : current.getDeclaredFields()) {
+                    if (field.isAnnotationPresent(PublicId.class)) {
+                        field.setAccessible(true);
+                        fields.add(field);
+                    }
+                }
+            }
+            return List.copyOf(fields);
+        }
+    };
+
+    @PrePersist
+    void assign(Object entity) {
+        for (Field field : FIELDS.get(entity.getClass())) {
+            try {
+                if (field.get(entity) == null) {
+                    field.set(entity, Uuids.randomV7().toString());
+                }
+            } catch (IllegalAccessException exception) {
+                var message = "Cannot assign the public id of " + entity.getClass().getName();
+                throw new IllegalStateException(message, exception);
+            }
+        }
+    }
+}
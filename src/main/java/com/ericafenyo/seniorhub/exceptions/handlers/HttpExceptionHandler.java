@@ -26,7 +26,10 @@ package com.ericafenyo.seniorhub.exceptions.handlers;
 
 import com.ericafenyo.seniorhub.exceptions.HttpException;
 import com.ericafenyo.seniorhub.exceptions.HttpExceptionResponse;
+import com.ericafenyo.seniorhub.exceptions.ServiceUnavailableException;
+import com.ericafenyo.seniorhub.security.PasswordHashingRejectedException;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -52,7 +55,23 @@ public class HttpExceptionHandler {
         response.setMessage(exception.getMessage());
         response.setPath(request.getRequestURI());
         response.setCode(exception.getCode());
-        return new ResponseEntity<>(response, exception.getStatus());
+
+        var headers = new HttpHeaders();
+        if (exception instanceof ServiceUnavailableException unavailable) {
+            // Retry-After is expressed in whole seconds
+            long seconds = Math.max(1, (unavailable.getRetryAfter().toMillis() + 999) / 1000);
+            headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(seconds));
+        }
+        return new ResponseEntity<>(response, headers, exception.getStatus());
+    }
+
+    /**
+     * Handles the saturation of the password hashing executor wherever it is not already translated, as a
+     * {@code 503 Service Unavailable} with a {@code Retry-After} header.
+     */
+    @ExceptionHandler(value = {PasswordHashingRejectedException.class})
+    ResponseEntity<Object> handle(PasswordHashingRejectedException exception, HttpServletRequest request) {
+        return handle(new ServiceUnavailableException(exception.getRetryAfter(), exception), request);
     }
 }
 
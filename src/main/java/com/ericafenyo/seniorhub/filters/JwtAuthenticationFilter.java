@@ -24,9 +24,12 @@
 
 package com.ericafenyo.seniorhub.filters;
 
+import com.ericafenyo.seniorhub.EnvironmentVariables;
 import com.ericafenyo.seniorhub.model.Account;
 import com.ericafenyo.seniorhub.services.AccountService;
 import com.ericafenyo.seniorhub.services.JwtAuthenticationService;
+import com.ericafenyo.seniorhub.services.TokenRevocationService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -38,9 +41,11 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 @Component
 @RequiredArgsConstructor
@@ -48,8 +53,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
   // The additional space at the end is required. Do not delete.
   public static final String BEARER_AUTH_SCHEME = "bearer ";
 
+  private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
   private final JwtAuthenticationService jwtAuthenticationService;
+  private final TokenRevocationService tokenRevocationService;
   private final AccountService accountService;
+  private final EnvironmentVariables environment;
 
   @Override
   protected void doFilterInternal(
@@ -57,20 +66,31 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
       @NonNull HttpServletResponse response,
       @NonNull FilterChain filterChain
   ) throws ServletException, IOException {
-    String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+    Optional<String> bearerToken = extractBearerToken(request.getHeader(HttpHeaders.AUTHORIZATION));
+
+    if (isNotAuthenticated() && bearerToken.isPresent()) {
+      String token = bearerToken.get();
 
-    if (isNotAuthenticated() && hasValidBearerAuthSchema(header)) {
-      String token = header.substring(BEARER_AUTH_SCHEME.length());
+      // Parse and verify the token once, the claims are reused for every check below
+      Optional<Claims> claims = jwtAuthenticationService.parse(token);
+      if (claims.isEmpty()) {
+        filterChain.doFilter(request, response);
+        return;
+      }
 
-      String email = jwtAuthenticationService.extractEmail(token);
+      // Reject tokens of users that have been revoked since the token was issued
+      if (tokenRevocationService.isRevoked(claims.get())) {
+        filterChain.doFilter(request, response);
+        return;
+      }
 
-      Account account = accountService.getAccount(email);
+      Account account = resolveAccount(request, claims.get());
       if (account == null) {
         filterChain.doFilter(request, response);
         return;
       }
 
-      boolean isValid = jwtAuthenticationService.verify(token, account);
+      boolean isValid = jwtAuthenticationService.verify(claims.get(), account);
 
       if (isValid) {
         UsernamePasswordAuthenticationToken authenticationToken =
@@ -89,11 +109,57 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     filterChain.doFilter(request, response);
   }
 
+  /**
+   * Resolves the principal of the request.
+   * <p>
+   * In stateless mode the principal is built from the verified claims, unless the requested path needs the
+   * current state of the account, in which case it is loaded through the {@link AccountService}.
+   */
+  private Account resolveAccount(HttpServletRequest request, Claims claims) {
+    if (isStateless() && !requiresFreshState(request)) {
+      return jwtAuthenticationService.toAccount(claims);
+    }
+
+    return accountService.getAccount(jwtAuthenticationService.extractEmail(claims));
+  }
+
+  private boolean isStateless() {
+    return Boolean.TRUE.equals(environment.getStatelessAuthentication());
+  }
+
+  private boolean requiresFreshState(HttpServletRequest request) {
+    var patterns = environment.getFreshStatePaths();
+    if (patterns == null) {
+      return false;
+    }
+
+    var path = request.getServletPath();
+    for (String pattern : patterns) {
+      if (PATH_MATCHER.match(pattern, path)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   private boolean isNotAuthenticated() {
     var authentication = SecurityContextHolder.getContext().getAuthentication();
     return authentication == null || !authentication.isAuthenticated();
   }
 
+  /**
+   * Extracts the token of a bearer Authorization header.
+   *
+   * @param header The value of the Authorization header, may be null.
+   * @return The token, or an empty optional if the header does not use the bearer scheme.
+   */
+  public static Optional<String> extractBearerToken(String header) {
+    if (!hasValidBearerAuthSchema(header)) {
+      return Optional.empty();
+    }
+    return Optional.of(header.substring(BEARER_AUTH_SCHEME.length()));
+  }
+
   private static boolean hasValidBearerAuthSchema(String header) {
     return (header != null) && header.toLowerCase().startsWith(BEARER_AUTH_SCHEME);
   }
@@ -0,0 +1,152 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (C) 2024 Eric Afenyo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.ericafenyo.seniorhub.implementation.daos;
+
+import com.ericafenyo.seniorhub.api.TaskCursor;
+import com.ericafenyo.seniorhub.contexts.ListTasksContext;
+import com.ericafenyo.seniorhub.dao.TaskDao;
+import com.ericafenyo.seniorhub.entities.TaskEntity;
+import com.ericafenyo.seniorhub.projections.TaskView;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.transaction.Transactional;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lists tasks with a criteria query, so that only the filters actually set end up in the statement and each
+ * combination can be served by one of the composite indexes starting with the team.
+ */
+@Repository
+@Transactional
+public class DefaultTaskDao implements TaskDao {
+  @PersistenceContext
+  private EntityManager manager;
+
+  @Override
+  public List<TaskView> findPage(Long teamId, ListTasksContext context, TaskCursor after, int limit) {
+    var builder = manager.getCriteriaBuilder();
+    var query = builder.createQuery(TaskView.class);
+    var task = query.from(TaskEntity.class);
+
+    var predicates = new ArrayList<Predicate>();
+    predicates.add(builder.equal(task.get("team").get("id"), teamId));
+
+    if (context.getStatus() != null) {
+      predicates.add(builder.equal(task.get("status"), context.getStatus()));
+    }
+    if (context.getPriority() != null) {
+      predicates.add(builder.equal(task.get("priority"), context.getPriority()));
+    }
+    if (context.getDueFrom() != null) {
+      predicates.add(builder.greaterThanOrEqualTo(task.get("dueDate"), context.getDueFrom()));
+    }
+    if (context.getDueTo() != null) {
+      predicates.add(builder.lessThanOrEqualTo(task.get("dueDate"), context.getDueTo()));
+    }
+    if (context.getAssigneeId() != null) {
+      predicates.add(builder.equal(task.join("assignees").get("uuid"), context.getAssigneeId()));
+    }
+
+    var sort = context.getSort();
+    Path<Long> id = task.get("id");
+
+    if (sort.isByDueDate()) {
+      Path<LocalDate> dueDate = task.get("dueDate");
+      if (after != null) {
+        predicates.add(after(builder, dueDate, id, after.dueDate(), after.id(), sort.isDescending()));
+      }
+      query.orderBy(order(builder, dueDate, sort.isDescending()), order(builder, id, sort.isDescending()));
+    } else {
+      Path<Instant> createdAt = task.get("createdAt");
+      if (after != null) {
+        predicates.add(after(builder, createdAt, id, after.createdAt(), after.id(), sort.isDescending()));
+      }
+      query.orderBy(order(builder, createdAt, sort.isDescending()), order(builder, id, sort.isDescending()));
+    }
+
+    query.select(builder.construct(
+            TaskView.class,
+            id,
+            task.get("uuid"),
+            task.get("title"),
+            task.get("description"),
+            task.get("status"),
+            task.get("priority"),
+            task.get("dueDate"),
+            task.get("createdAt"),
+            task.get("updatedAt")
+        ))
+        .where(predicates.toArray(Predicate[]::new));
+
+    return manager.createQuery(query)
+        .setMaxResults(limit)
+        .getResultList();
+  }
+
+  private static Order order(CriteriaBuilder builder, Expression<?> key, boolean descending) {
+    return descending ? builder.desc(key) : builder.asc(key);
+  }
+
+  /**
+   * Matches the rows after the given position, null keys sorting before any other value as MySQL orders them.
+   */
+  private static <C extends Comparable<? super C>> Predicate after(
+      CriteriaBuilder builder,
+      Path<C> key,
+      Path<Long> id,
+      C value,
+      long lastId,
+      boolean descending
+  ) {
+    if (value == null) {
+      return descending
+          ? builder.and(builder.isNull(key), builder.lessThan(id, lastId))
+          : builder.or(builder.and(builder.isNull(key), builder.greaterThan(id, lastId)), builder.isNotNull(key));
+    }
+
+    if (descending) {
+      return builder.or(
+          builder.lessThan(key, value),
+          builder.isNull(key),
+          builder.and(builder.equal(key, value), builder.lessThan(id, lastId))
+      );
+    }
+
+    return builder.or(
+        builder.greaterThan(key, value),
+        builder.and(builder.equal(key, value), builder.greaterThan(id, lastId))
+    );
+  }
+}
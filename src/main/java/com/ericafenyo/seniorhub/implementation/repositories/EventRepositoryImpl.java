@@ -24,11 +24,13 @@
 
 package com.ericafenyo.seniorhub.implementation.repositories;
 
+import com.ericafenyo.seniorhub.api.Cursor;
 import com.ericafenyo.seniorhub.dao.EventDao;
 import com.ericafenyo.seniorhub.entities.EventEntity;
 import com.ericafenyo.seniorhub.repository.EventRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -53,4 +55,9 @@ public class EventRepositoryImpl implements EventRepository {
   public Iterable<EventEntity> findAll() {
     return eventDao.findAll();
   }
+
+  @Override
+  public List<EventEntity> findPage(Cursor cursor, int limit) {
+    return eventDao.findPage("SELECT e FROM events as e ", "e", EventEntity.class, cursor, limit);
+  }
 }
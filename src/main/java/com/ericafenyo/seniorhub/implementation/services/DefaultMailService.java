@@ -30,20 +30,17 @@ import com.ericafenyo.seniorhub.model.Mail;
 import com.ericafenyo.seniorhub.model.Mail.Context;
 import com.ericafenyo.seniorhub.model.Report;
 import com.ericafenyo.seniorhub.services.MailService;
+import com.ericafenyo.seniorhub.implementation.utils.MailTemplateRenderer;
+import com.ericafenyo.seniorhub.implementation.utils.SmtpTransportPool;
 import com.ericafenyo.seniorhub.util.Cache;
 import com.ericafenyo.seniorhub.spi.TextEncoder;
-import freemarker.template.Configuration;
-import freemarker.template.Template;
-import freemarker.template.TemplateException;
 import jakarta.mail.MessagingException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.security.crypto.keygen.KeyGenerators;
 import org.springframework.stereotype.Service;
-import org.springframework.ui.freemarker.FreeMarkerTemplateUtils;
 
-import java.io.IOException;
 import java.time.Duration;
 import java.util.Random;
 
@@ -54,8 +51,9 @@ public class DefaultMailService implements MailService {
   public static final String SUBJECT_INVITATION_EMAIL = "You've been invited to join Senior Hub!";
 
   private final JavaMailSender javaMailSender;
+  private final SmtpTransportPool transportPool;
   private final TextEncoder textEncoder;
-  private final Configuration configuration;
+  private final MailTemplateRenderer templateRenderer;
   private final EnvironmentVariables environment;
 
 
@@ -70,7 +68,8 @@ public class DefaultMailService implements MailService {
       content.setSubject(options.getSubject());
       content.setText(options.getBody(), true);
 
-      javaMailSender.send(content.getMimeMessage());
+      // Reuse an open connection rather than connecting for every message
+      transportPool.send(content.getMimeMessage());
     } catch (MessagingException e) {
       throw new RuntimeException(e);
     }
@@ -107,34 +106,21 @@ public class DefaultMailService implements MailService {
   }
 
   @Override
-  public Report sendInvitation(String email, Context context) {
+  public Mail composeInvitation(String email, Context context) {
     // Extract the email template
     var html = extractHTML(TEMPLATE_INVITATION_EMAIL, context);
 
     // Crate an email request
-    var mail = Mail.builder()
+    return Mail.builder()
         .recipient(email)
         .sender(environment.getMailSender())
         .subject(SUBJECT_INVITATION_EMAIL)
         .body(html)
         .build();
-
-    send(mail);
-
-    return gererateReport();
-  }
-
-  private static Report gererateReport() {
-    return new Report("Email sent successfully");
   }
 
   private String extractHTML(String path, Context context) {
-    try {
-      Template template = configuration.getTemplate(path);
-      return FreeMarkerTemplateUtils.processTemplateIntoString(template, context);
-    } catch (IOException | TemplateException e) {
-      throw new RuntimeException(e);
-    }
+    return templateRenderer.render(path, context);
   }
 
   private int generateVerificationCode() {
@@ -24,9 +24,12 @@
 
 package com.ericafenyo.seniorhub.implementation.services;
 
+import com.ericafenyo.seniorhub.api.Cursor;
+import com.ericafenyo.seniorhub.api.CursorPage;
 import com.ericafenyo.seniorhub.dto.CreateEventRequest;
 import com.ericafenyo.seniorhub.dto.UpdateEventRequest;
 import com.ericafenyo.seniorhub.entities.EventEntity;
+import com.ericafenyo.seniorhub.exceptions.HttpException;
 import com.ericafenyo.seniorhub.exceptions.event.EventNotFoundException;
 import com.ericafenyo.seniorhub.mapper.EventMapper;
 import com.ericafenyo.seniorhub.model.Event;
@@ -34,10 +37,7 @@ import com.ericafenyo.seniorhub.repository.EventRepository;
 import com.ericafenyo.seniorhub.services.EventService;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Optional;
-import java.util.UUID;
 
 @Service
 public class EventServiceImpl implements EventService {
@@ -51,15 +51,10 @@ public class EventServiceImpl implements EventService {
   }
 
   @Override
-  public List<Event> getEvents() {
-    List<Event> events = new ArrayList<>();
-
-    var entities = repository.findAll();
-    for (EventEntity entity : entities) {
-      events.add(mapper.apply(entity));
-    }
-
-    return events;
+  public CursorPage<Event> getEvents(String cursor, int limit) throws HttpException {
+    int size = CursorPage.clamp(limit);
+    var entities = repository.findPage(Cursor.parse(cursor), size + 1);
+    return CursorPage.of(entities, size, event -> Cursor.of(event.getCreatedAt(), event.getId()), mapper);
   }
 
   @Override
@@ -76,7 +71,6 @@ public class EventServiceImpl implements EventService {
   @Override
   public Event createEvent(CreateEventRequest request) {
     EventEntity entity = new EventEntity();
-    entity.setUuid(UUID.randomUUID().toString());
     entity.setName(request.getName());
     entity.setDescription(request.getDescription());
     entity.setStartDate(request.getStartDate());
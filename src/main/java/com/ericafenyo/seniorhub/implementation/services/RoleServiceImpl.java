@@ -24,15 +24,17 @@
 
 package com.ericafenyo.seniorhub.implementation.services;
 
+import com.ericafenyo.seniorhub.api.Cursor;
+import com.ericafenyo.seniorhub.api.CursorPage;
+import com.ericafenyo.seniorhub.exceptions.HttpException;
 import com.ericafenyo.seniorhub.mapper.RoleMapper;
 import com.ericafenyo.seniorhub.model.Role;
+import com.ericafenyo.seniorhub.projections.RoleView;
 import com.ericafenyo.seniorhub.repository.RoleRepository;
 import com.ericafenyo.seniorhub.services.RoleService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
-
 @Service
 @RequiredArgsConstructor
 public class RoleServiceImpl implements RoleService {
@@ -40,10 +42,13 @@ public class RoleServiceImpl implements RoleService {
     private final RoleMapper mapper;
 
     @Override
-    public List<Role> getRoles() {
-        return repository.findAll()
-            .stream()
-            .map(mapper)
-            .toList();
+    public CursorPage<Role> getRoles(String cursor, int limit) throws HttpException {
+        int size = CursorPage.clamp(limit);
+        var roles = repository.findViewPage(Cursor.parse(cursor), size + 1);
+        return CursorPage.of(roles, size, RoleServiceImpl::cursorOf, mapper::fromView);
+    }
+
+    private static Cursor cursorOf(RoleView role) {
+        return new Cursor(role.createdAt(), role.id());
     }
 }
@@ -25,25 +25,35 @@
 package com.ericafenyo.seniorhub.implementation.services;
 
 import com.ericafenyo.seniorhub.Messages;
+import com.ericafenyo.seniorhub.api.Cursor;
+import com.ericafenyo.seniorhub.api.CursorPage;
+import com.ericafenyo.seniorhub.api.TaskCursor;
 import com.ericafenyo.seniorhub.contexts.CreateTaskContext;
+import com.ericafenyo.seniorhub.contexts.ListTasksContext;
+import com.ericafenyo.seniorhub.dao.TaskDao;
 import com.ericafenyo.seniorhub.dto.CreateTeamRequest;
+import com.ericafenyo.seniorhub.dto.InvitationRequest;
 import com.ericafenyo.seniorhub.dto.UpdateTeamRequest;
 import com.ericafenyo.seniorhub.entities.TaskEntity;
 import com.ericafenyo.seniorhub.entities.TeamEntity;
+import com.ericafenyo.seniorhub.exceptions.BadRequestException;
 import com.ericafenyo.seniorhub.exceptions.ConflictException;
 import com.ericafenyo.seniorhub.exceptions.HttpException;
 import com.ericafenyo.seniorhub.exceptions.NotFoundException;
 import com.ericafenyo.seniorhub.mapper.TaskMapper;
 import com.ericafenyo.seniorhub.mapper.TeamMapper;
 import com.ericafenyo.seniorhub.model.Invitation;
+import com.ericafenyo.seniorhub.model.InvitationResult;
 import com.ericafenyo.seniorhub.model.Report;
 import com.ericafenyo.seniorhub.model.Task;
 import com.ericafenyo.seniorhub.model.Team;
+import com.ericafenyo.seniorhub.model.TeamSummary;
 import com.ericafenyo.seniorhub.repository.TaskRepository;
 import com.ericafenyo.seniorhub.repository.TeamRepository;
 import com.ericafenyo.seniorhub.repository.UserRepository;
 import com.ericafenyo.seniorhub.services.InvitationService;
 import com.ericafenyo.seniorhub.services.TeamService;
+import com.ericafenyo.seniorhub.services.TeamSummaryService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -56,10 +66,12 @@ public class TeamServiceImpl implements TeamService {
     private final TaskMapper taskMapper;
 
     private final TaskRepository taskRepository;
+    private final TaskDao taskDao;
     private final TeamRepository teamRepository;
     private final UserRepository userRepository;
 
     private final InvitationService invitationService;
+    private final TeamSummaryService teamSummaryService;
     private final Messages messages;
 
     @Override
@@ -84,18 +96,30 @@ public class TeamServiceImpl implements TeamService {
     }
 
     @Override
-    public List<Team> getTeams() {
-        return teamRepository.findAll().stream()
-            .map(mapper)
-            .toList();
+    public CursorPage<Team> getTeams(String cursor, int limit) throws HttpException {
+        int size = CursorPage.clamp(limit);
+        var teams = teamRepository.findViewPage(Cursor.parse(cursor), size + 1);
+        return CursorPage.of(teams, size, team -> new Cursor(team.createdAt(), team.id()), mapper::fromView);
     }
 
     @Override
     public Team getTeamById(String id) throws HttpException {
-        var team = teamRepository.findById(id)
+        var team = teamRepository.findViewById(id)
             .orElseThrow(() -> new NotFoundException("Team with id not found", ""));
 
-        return mapper.apply(team);
+        return mapper.fromView(team);
+    }
+
+    @Override
+    public TeamSummary getTeamSummary(String id) throws HttpException {
+        var teamId = teamRepository.findInternalId(id).orElseThrow(() ->
+            new NotFoundException(
+                messages.format(Messages.ERROR_RESOURCE_WITH_ID_NOTFOUND, "Team", id),
+                messages.format(Messages.ERROR_RESOURCE_NOTFOUND_CODE, "team")
+            )
+        );
+
+        return teamSummaryService.getSummary(teamId);
     }
 
     @Override
@@ -116,9 +140,9 @@ public class TeamServiceImpl implements TeamService {
 
     @Override
     public List<Team> getUserTeams(Long id) throws HttpException {
-        return teamRepository.findAllByCreatorId(id)
+        return teamRepository.findAllViewsByCreatorId(id)
             .stream()
-            .map(mapper)
+            .map(mapper::fromView)
             .toList();
     }
 
@@ -127,6 +151,15 @@ public class TeamServiceImpl implements TeamService {
         return invitationService.invite(teamId, inviterId, role, email);
     }
 
+    @Override
+    public List<InvitationResult> inviteAll(
+        String teamId,
+        String inviterId,
+        List<InvitationRequest> requests
+    ) throws HttpException {
+        return invitationService.inviteAll(teamId, inviterId, requests);
+    }
+
     @Override
     public Invitation validateInvitation(String id) {
         return null;
@@ -152,4 +185,25 @@ public class TeamServiceImpl implements TeamService {
 
         return taskMapper.apply(task);
     }
+
+    @Override
+    public CursorPage<Task> getTasks(ListTasksContext context) throws HttpException {
+        var teamId = teamRepository.findInternalId(context.getTeamId()).orElseThrow(() ->
+            new NotFoundException(
+                messages.format(Messages.ERROR_RESOURCE_WITH_ID_NOTFOUND, "Team", context.getTeamId()),
+                messages.format(Messages.ERROR_RESOURCE_NOTFOUND_CODE, "team")
+            )
+        );
+
+        if (context.getDueFrom() != null && context.getDueTo() != null && context.getDueFrom().isAfter(context.getDueTo())) {
+            throw new BadRequestException("The due date range is empty", "invalid_due_date_range");
+        }
+
+        var sort = context.getSort();
+        var after = TaskCursor.parse(context.getCursor(), sort);
+        int size = CursorPage.clamp(context.getLimit());
+
+        var tasks = taskDao.findPage(teamId, context, after, size + 1);
+        return CursorPage.of(tasks, size, task -> TaskCursor.of(sort, task), taskMapper::fromView);
+    }
 }
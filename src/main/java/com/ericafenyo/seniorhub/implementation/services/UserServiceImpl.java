@@ -25,6 +25,8 @@
 package com.ericafenyo.seniorhub.implementation.services;
 
 import com.ericafenyo.seniorhub.Messages;
+import com.ericafenyo.seniorhub.api.Cursor;
+import com.ericafenyo.seniorhub.api.CursorPage;
 import com.ericafenyo.seniorhub.dto.CreateTeamRequest;
 import com.ericafenyo.seniorhub.dto.CreateUserRequest;
 import com.ericafenyo.seniorhub.dto.UserUpdateDto;
@@ -36,21 +38,29 @@ import com.ericafenyo.seniorhub.entities.UserEntity;
 import com.ericafenyo.seniorhub.exceptions.ConflictException;
 import com.ericafenyo.seniorhub.exceptions.HttpException;
 import com.ericafenyo.seniorhub.exceptions.NotFoundException;
+import com.ericafenyo.seniorhub.exceptions.ServiceUnavailableException;
 import com.ericafenyo.seniorhub.exceptions.user.UserNotFoundException;
 import com.ericafenyo.seniorhub.mapper.UserMapper;
 import com.ericafenyo.seniorhub.model.Team;
 import com.ericafenyo.seniorhub.model.User;
+import com.ericafenyo.seniorhub.projections.UserView;
 import com.ericafenyo.seniorhub.repository.CredentialRepository;
 import com.ericafenyo.seniorhub.repository.UserRepository;
+import com.ericafenyo.seniorhub.security.PasswordHashingRejectedException;
+import com.ericafenyo.seniorhub.services.AccountService;
+import com.ericafenyo.seniorhub.services.RefreshTokenService;
 import com.ericafenyo.seniorhub.services.TeamService;
+import com.ericafenyo.seniorhub.services.TokenRevocationService;
 import com.ericafenyo.seniorhub.services.UserService;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 
 @Service
@@ -64,19 +74,52 @@ public class UserServiceImpl implements UserService {
     private final CredentialRepository credentialRepository;
 
     private final TeamService teamService;
+    private final AccountService accountService;
+    private final TokenRevocationService tokenRevocationService;
+    private final RefreshTokenService refreshTokenService;
+    private final TransactionTemplate transactionTemplate;
 
     @Override
-    @Transactional
     public User createUser(CreateUserRequest request) throws HttpException {
         // Throw error if the user already exists
         boolean isPresent = userRepository.existsByEmail(request.getEmail());
         if (isPresent) {
-            throw new ConflictException(
-                messages.format(Messages.ERROR_RESOURCE_ALREADY_EXISTS, "User"),
-                messages.format(Messages.ERROR_RESOURCE_ALREADY_EXISTS_CODE, "user")
-            );
+            throw userExists(null);
         }
 
+        // Hash the password before the transaction starts, so no connection is held during the computation
+        String hashedPassword;
+        try {
+            hashedPassword = passwordEncoder.encode(request.getPassword());
+        } catch (PasswordHashingRejectedException exception) {
+            throw new ServiceUnavailableException(exception.getRetryAfter(), exception);
+        }
+
+        try {
+            return transactionTemplate.execute(status -> insertUser(request, hashedPassword));
+        } catch (DataIntegrityViolationException exception) {
+            // The email has been taken by a concurrent signup since the check above
+            if (violates(exception, UserEntity.EMAIL_CONSTRAINT)) {
+                throw userExists(exception);
+            }
+            throw exception;
+        }
+    }
+
+    /**
+     * Returns whether the exception was caused by a violation of the given constraint. The drivers report the name
+     * with their own decorations, such as a table prefix on MySQL, so the name is looked up inside the reported one.
+     */
+    private static boolean violates(DataIntegrityViolationException exception, String constraint) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                return violation.getConstraintName().toLowerCase(Locale.ROOT).contains(constraint);
+            }
+        }
+        return false;
+    }
+
+    private User insertUser(CreateUserRequest request, String hashedPassword) {
         // Create a new city entity
         var city = new CityEntity().setName(request.getAddress().getCity());
 
@@ -102,7 +145,6 @@ public class UserServiceImpl implements UserService {
 
         // Create and save new credential entity
         var credential = new CredentialEntity();
-        String hashedPassword = passwordEncoder.encode(request.getPassword());
         credential.setPassword(hashedPassword);
         credential.setUser(savedUser);
         credentialRepository.save(credential);
@@ -110,26 +152,29 @@ public class UserServiceImpl implements UserService {
         return mapper.apply(savedUser);
     }
 
-    @Override
-    public List<User> getUsers() {
-        List<User> users = new ArrayList<>();
-
-        var entities = userRepository.findAll();
-        for (UserEntity entity : entities) {
-            users.add(mapper.apply(entity));
-        }
+    private ConflictException userExists(Throwable cause) {
+        return new ConflictException(
+            messages.format(Messages.ERROR_RESOURCE_ALREADY_EXISTS, "User"),
+            messages.format(Messages.ERROR_RESOURCE_ALREADY_EXISTS_CODE, "user"),
+            cause
+        );
+    }
 
-        return users;
+    @Override
+    public CursorPage<User> getUsers(String cursor, int limit) throws HttpException {
+        int size = CursorPage.clamp(limit);
+        var users = userRepository.findViewPage(Cursor.parse(cursor), size + 1);
+        return CursorPage.of(users, size, user -> new Cursor(user.createdAt(), user.id()), mapper::fromView);
     }
 
     @Override
     public User getUserById(String id) throws UserNotFoundException {
-        Optional<UserEntity> user = userRepository.findById(id);
+        Optional<UserView> user = userRepository.findViewById(id);
 
         if (user.isEmpty()) {
             throw new UserNotFoundException();
         }
-        return mapper.apply(user.get());
+        return mapper.fromView(user.get());
     }
 
 
@@ -161,6 +206,11 @@ public class UserServiceImpl implements UserService {
     @Override
     public void deleteUser(String id) {
         userRepository.findById(id).ifPresent(team -> userRepository.deleteById(id));
+
+        // Make sure a deleted user can no longer authenticate, including with tokens already issued
+        accountService.evictById(id);
+        tokenRevocationService.revokeUser(id);
+        refreshTokenService.revokeUser(id);
     }
 
 
@@ -172,12 +222,12 @@ public class UserServiceImpl implements UserService {
     @Override
     public List<Team> getUserTeams(String id) throws HttpException {
         // Find the current user using the provided id
-        var user = userRepository.findById(id)
+        var userId = userRepository.findInternalId(id)
             .orElseThrow(() -> new NotFoundException(
                 messages.format(Messages.ERROR_RESOURCE_WITH_ID_NOTFOUND, "user", id),
                 messages.format(Messages.ERROR_RESOURCE_NOTFOUND_CODE, "user")
             ));
 
-        return teamService.getUserTeams(user.getId());
+        return teamService.getUserTeams(userId);
     }
 }
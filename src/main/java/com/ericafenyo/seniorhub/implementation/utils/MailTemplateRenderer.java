@@ -0,0 +1,217 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (C) 2024 Eric Afenyo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.ericafenyo.seniorhub.implementation.utils;
+
+import com.ericafenyo.seniorhub.EnvironmentVariables;
+import freemarker.template.Configuration;
+import freemarker.template.SimpleScalar;
+import freemarker.template.Template;
+import freemarker.template.TemplateException;
+import freemarker.template.TemplateHashModel;
+import freemarker.template.TemplateModel;
+import org.springframework.stereotype.Component;
+import org.springframework.ui.freemarker.FreeMarkerTemplateUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Renders the FreeMarker templates of the emails.
+ * <p>
+ * The configured templates are loaded once at startup and split into their static fragments and the
+ * variables interpolated between them. Rendering a split template only appends the fragments and the values
+ * of the variables to a per-thread buffer, FreeMarker is not involved anymore.
+ * <p>
+ * Templates are split by rendering them once with a marker in place of every variable. A template whose output
+ * does not depend on its variables only through plain interpolation (conditions, loops, built-ins, escaping)
+ * cannot be split, which is detected at startup: such templates, and values that are not plain text, are
+ * rendered by FreeMarker.
+ */
+@Component
+public class MailTemplateRenderer {
+    private static final char MARK = '\u0001';
+    private static final int MAX_RETAINED_BUFFER = 64 * 1024;
+
+    private final Configuration configuration;
+    private final Map<String, CompiledTemplate> templates = new HashMap<>();
+    private final ThreadLocal<StringBuilder> buffers = ThreadLocal.withInitial(StringBuilder::new);
+
+    public MailTemplateRenderer(Configuration configuration, EnvironmentVariables environment) {
+        this.configuration = configuration;
+
+        for (String path : environment.getMailTemplates()) {
+            try {
+                templates.put(path, compile(configuration.getTemplate(path)));
+            } catch (IOException exception) {
+                throw new UncheckedIOException("Failed to load mail template " + path, exception);
+            }
+        }
+    }
+
+    /**
+     * Renders the template at the given path.
+     *
+     * @param path  The path of the template, relative to the template loader.
+     * @param model The values of the variables referenced by the template.
+     * @return The rendered template.
+     */
+    public String render(String path, Map<String, ?> model) {
+        var template = templates.get(path);
+        if (template == null || !template.accepts(model)) {
+            return renderWithFreeMarker(template, path, model);
+        }
+
+        var buffer = buffers.get();
+        buffer.setLength(0);
+        buffer.ensureCapacity(template.staticLength() + 256);
+
+        var fragments = template.fragments();
+        var variables = template.variables();
+        for (int i = 0; i < variables.length; i++) {
+            buffer.append(fragments[i]);
+            buffer.append((CharSequence) model.get(variables[i]));
+        }
+        buffer.append(fragments[variables.length]);
+
+        var html = buffer.toString();
+
+        // Do not pin the memory of an exceptionally large rendering to the thread
+        if (buffer.capacity() > MAX_RETAINED_BUFFER) {
+            buffers.remove();
+        }
+        return html;
+    }
+
+    private String renderWithFreeMarker(CompiledTemplate compiled, String path, Map<String, ?> model) {
+        try {
+            var template = compiled != null ? compiled.template() : configuration.getTemplate(path);
+            return FreeMarkerTemplateUtils.processTemplateIntoString(template, model);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        } catch (TemplateException exception) {
+            throw new IllegalStateException("Failed to render mail template " + path, exception);
+        }
+    }
+
+    private static CompiledTemplate compile(Template template) throws IOException {
+        String marked;
+        try {
+            marked = FreeMarkerTemplateUtils.processTemplateIntoString(template, new MarkingModel());
+        } catch (TemplateException exception) {
+            // The template does more with a variable than interpolating it, such as testing it in a condition
+            return CompiledTemplate.unsplit(template);
+        }
+
+        var fragments = new ArrayList<String>();
+        var variables = new ArrayList<String>();
+        int start = 0;
+        int open;
+        while ((open = marked.indexOf(MARK, start)) >= 0) {
+            int close = marked.indexOf(MARK, open + 1);
+            if (close < 0) {
+                return CompiledTemplate.unsplit(template);
+            }
+            fragments.add(marked.substring(start, open));
+            variables.add(marked.substring(open + 1, close));
+            start = close + 1;
+        }
+        fragments.add(marked.substring(start));
+
+        var compiled = new CompiledTemplate(
+            template,
+            fragments.toArray(String[]::new),
+            variables.toArray(String[]::new),
+            fragments.stream().mapToInt(String::length).sum()
+        );
+
+        // Make sure the split rendering is identical to FreeMarker's, with characters that would be escaped
+        var probe = new HashMap<String, Object>();
+        for (String variable : variables) {
+            probe.put(variable, "<a href=\"&'>" + UUID.randomUUID());
+        }
+        try {
+            var expected = FreeMarkerTemplateUtils.processTemplateIntoString(template, probe);
+            if (!expected.equals(compiled.render(probe))) {
+                return CompiledTemplate.unsplit(template);
+            }
+        } catch (TemplateException exception) {
+            return CompiledTemplate.unsplit(template);
+        }
+
+        return compiled;
+    }
+
+    /**
+     * A template loaded at startup, along with its static fragments and variables when it can be split.
+     * <p>
+     * The template is rendered by appending {@code fragments[0]}, the value of {@code variables[0]},
+     * {@code fragments[1]}, and so on.
+     */
+    private record CompiledTemplate(Template template, String[] fragments, String[] variables, int staticLength) {
+        static CompiledTemplate unsplit(Template template) {
+            return new CompiledTemplate(template, null, null, 0);
+        }
+
+        boolean accepts(Map<String, ?> model) {
+            if (fragments == null) {
+                return false;
+            }
+            for (String variable : variables) {
+                if (!(model.get(variable) instanceof CharSequence)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        String render(Map<String, ?> model) {
+            var builder = new StringBuilder(staticLength);
+            for (int i = 0; i < variables.length; i++) {
+                builder.append(fragments[i]).append(model.get(variables[i]));
+            }
+            return builder.append(fragments[variables.length]).toString();
+        }
+    }
+
+    /**
+     * A model resolving every variable to its own name, surrounded by markers.
+     */
+    private static class MarkingModel implements TemplateHashModel {
+        @Override
+        public TemplateModel get(String key) {
+            return new SimpleScalar(MARK + key + MARK);
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return false;
+        }
+    }
+}
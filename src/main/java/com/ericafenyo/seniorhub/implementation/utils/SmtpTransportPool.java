@@ -0,0 +1,188 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (C) 2024 Eric Afenyo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.ericafenyo.seniorhub.implementation.utils;
+
+import com.ericafenyo.seniorhub.EnvironmentVariables;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A pool of connected and authenticated SMTP transports.
+ * <p>
+ * Opening an SMTP connection costs several round trips (greeting, EHLO, STARTTLS, AUTH). The pool keeps
+ * connections open between messages so that they are reused by subsequent sends. Idle connections are closed
+ * after a while, and connections can be checked (NOOP) before being handed out.
+ */
+@Component
+public class SmtpTransportPool {
+    private final JavaMailSenderImpl mailSender;
+    private final LinkedBlockingDeque<PooledTransport> idle = new LinkedBlockingDeque<>();
+    private final Semaphore permits;
+    private final Duration borrowTimeout;
+    private final Duration maxIdle;
+    private final boolean validateOnBorrow;
+
+    private final Timer sendTimer;
+    private final Counter connectionsOpened;
+
+    public SmtpTransportPool(JavaMailSenderImpl mailSender, EnvironmentVariables environment, MeterRegistry registry) {
+        this.mailSender = mailSender;
+        this.permits = new Semaphore(environment.getSmtpPoolSize(), true);
+        this.borrowTimeout = Duration.ofMillis(environment.getSmtpPoolBorrowTimeoutMillis());
+        this.maxIdle = Duration.ofSeconds(environment.getSmtpPoolMaxIdleSeconds());
+        this.validateOnBorrow = Boolean.TRUE.equals(environment.getSmtpPoolValidateOnBorrow());
+
+        Gauge.builder("mail.smtp.pool.idle", idle, LinkedBlockingDeque::size)
+            .description("Number of open SMTP connections waiting to be reused")
+            .register(registry);
+        this.sendTimer = Timer.builder("mail.smtp.send")
+            .description("Time spent sending a message, including waiting for a connection")
+            .register(registry);
+        this.connectionsOpened = Counter.builder("mail.smtp.connections.opened")
+            .description("Number of SMTP connections opened")
+            .register(registry);
+    }
+
+    /**
+     * Sends a message over a pooled connection.
+     *
+     * @param message The message to send.
+     * @throws MailSendException If no connection is available in time or the message cannot be sent.
+     */
+    public void send(MimeMessage message) {
+        sendTimer.record(() -> doSend(message));
+    }
+
+    private void doSend(MimeMessage message) {
+        acquire();
+        PooledTransport transport = null;
+        try {
+            transport = borrow();
+
+            message.saveChanges();
+            transport.transport().sendMessage(message, message.getAllRecipients());
+
+            // Most recently used connections are reused first, so the surplus ones age out
+            idle.offerFirst(new PooledTransport(transport.transport(), System.nanoTime()));
+            transport = null;
+        } catch (MessagingException exception) {
+            throw new MailSendException("Failed to send mail", exception);
+        } finally {
+            // A connection that failed is in an unknown state, never give it back
+            if (transport != null) {
+                close(transport);
+            }
+            permits.release();
+        }
+    }
+
+    private void acquire() {
+        try {
+            if (!permits.tryAcquire(borrowTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                throw new MailSendException("Timed out waiting for an SMTP connection");
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new MailSendException("Interrupted while waiting for an SMTP connection", exception);
+        }
+    }
+
+    private PooledTransport borrow() throws MessagingException {
+        PooledTransport pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            if (isExpired(pooled, System.nanoTime())) {
+                close(pooled);
+                continue;
+            }
+            // isConnected() sends a NOOP to the server
+            if (validateOnBorrow && !pooled.transport().isConnected()) {
+                close(pooled);
+                continue;
+            }
+            return pooled;
+        }
+        return connect();
+    }
+
+    private PooledTransport connect() throws MessagingException {
+        Transport transport = mailSender.getSession().getTransport(mailSender.getProtocol());
+        transport.connect(mailSender.getHost(), mailSender.getPort(), mailSender.getUsername(), mailSender.getPassword());
+        connectionsOpened.increment();
+        return new PooledTransport(transport, System.nanoTime());
+    }
+
+    /**
+     * Closes the connections that have been idle for too long.
+     */
+    @Scheduled(fixedDelayString = "${seniorhub.env.smtp-pool-eviction-interval-millis}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+
+        // The least recently used connections are at the end of the deque
+        PooledTransport pooled;
+        while ((pooled = idle.peekLast()) != null && isExpired(pooled, now)) {
+            if (idle.removeLastOccurrence(pooled)) {
+                close(pooled);
+            }
+        }
+    }
+
+    private boolean isExpired(PooledTransport pooled, long now) {
+        return now - pooled.lastUsedAt() > maxIdle.toNanos();
+    }
+
+    private static void close(PooledTransport pooled) {
+        try {
+            pooled.transport().close();
+        } catch (MessagingException ignored) {
+            // The connection is being discarded anyway
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        PooledTransport pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            close(pooled);
+        }
+    }
+
+    private record PooledTransport(Transport transport, long lastUsedAt) { }
+}
@@ -36,7 +36,6 @@ public class InvitationMapper implements Function<InvitationEntity, Invitation>
     public Invitation apply(InvitationEntity entity) {
         return new Invitation()
             .setId(entity.getUuid())
-            .setToken(entity.getToken())
             .setEmail(entity.getEmail())
             .setStatus(entity.getStatus())
             .setCreatedAt(entity.getCreatedAt())
@@ -28,6 +28,7 @@ import com.ericafenyo.seniorhub.entities.AddressEntity;
 import com.ericafenyo.seniorhub.entities.RoleEntity;
 import com.ericafenyo.seniorhub.model.Address;
 import com.ericafenyo.seniorhub.model.Role;
+import com.ericafenyo.seniorhub.projections.RoleView;
 import org.springframework.stereotype.Component;
 
 import java.util.function.Function;
@@ -52,4 +53,18 @@ public class RoleMapper implements Function<RoleEntity, Role> {
             .setSlug(entity.getSlug())
             .setDescription(entity.getDescription());
     }
+
+    /**
+     * Converts a {@link RoleView} to a {@link Role}.
+     *
+     * @param view The input role projection.
+     * @return The mapped role object.
+     */
+    public Role fromView(RoleView view) {
+        return new Role()
+            .setId(view.uuid())
+            .setName(view.name())
+            .setSlug(view.slug())
+            .setDescription(view.description());
+    }
 }
@@ -26,6 +26,7 @@ package com.ericafenyo.seniorhub.mapper;
 
 import com.ericafenyo.seniorhub.entities.TaskEntity;
 import com.ericafenyo.seniorhub.model.Task;
+import com.ericafenyo.seniorhub.projections.TaskView;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
@@ -63,4 +64,23 @@ public class TaskMapper implements Function<TaskEntity, Task> {
         task.setPriority(entity.getPriority());
         return task;
     }
+
+    /**
+     * Converts a {@link TaskView} to a {@link Task}.
+     *
+     * @param view The input task projection.
+     * @return The mapped task.
+     */
+    public Task fromView(TaskView view) {
+        var task = new Task();
+        task.setId(view.uuid());
+        task.setTitle(view.title());
+        task.setDescription(view.description());
+        task.setCreatedAt(view.createdAt());
+        task.setUpdatedAt(view.updatedAt());
+        task.setStatus(view.status());
+        task.setDueDate(view.dueDate());
+        task.setPriority(view.priority());
+        return task;
+    }
 }
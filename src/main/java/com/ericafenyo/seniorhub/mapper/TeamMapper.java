@@ -26,6 +26,7 @@ package com.ericafenyo.seniorhub.mapper;
 
 import com.ericafenyo.seniorhub.entities.TeamEntity;
 import com.ericafenyo.seniorhub.model.Team;
+import com.ericafenyo.seniorhub.projections.TeamView;
 import org.springframework.stereotype.Component;
 
 import java.util.function.Function;
@@ -53,4 +54,21 @@ public class TeamMapper implements Function<TeamEntity, Team> {
 
         return team;
     }
+
+    /**
+     * Converts a {@link TeamView} to a {@link Team}.
+     *
+     * @param view The input team projection.
+     * @return The mapped team.
+     */
+    public Team fromView(TeamView view) {
+        var team = new Team();
+        team.setId(view.uuid());
+        team.setName(view.name());
+        team.setDescription(view.description());
+        team.setCreatedAt(view.createdAt());
+        team.setUpdatedAt(view.updatedAt());
+
+        return team;
+    }
 }
@@ -0,0 +1,68 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (C) 2024 Eric Afenyo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.ericafenyo.seniorhub.mapper;
+
+import com.ericafenyo.seniorhub.entities.TeamSummaryEntity;
+import com.ericafenyo.seniorhub.model.Priority;
+import com.ericafenyo.seniorhub.model.Task;
+import com.ericafenyo.seniorhub.model.TeamSummary;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.function.Function;
+
+/**
+ * Maps a {@link TeamSummaryEntity} to a {@link TeamSummary}.
+ */
+@Component
+public class TeamSummaryMapper implements Function<TeamSummaryEntity, TeamSummary> {
+
+    /**
+     * Converts a {@link TeamSummaryEntity} to a {@link TeamSummary}.
+     *
+     * @param entity The input team summary entity.
+     * @return The mapped team summary.
+     */
+    @Override
+    public TeamSummary apply(TeamSummaryEntity entity) {
+        var tasksByStatus = new EnumMap<Task.Status, Long>(Task.Status.class);
+        tasksByStatus.put(Task.Status.PLANNED, entity.getTasksPlanned());
+        tasksByStatus.put(Task.Status.STARTED, entity.getTasksStarted());
+        tasksByStatus.put(Task.Status.COMPLETED, entity.getTasksCompleted());
+        tasksByStatus.put(Task.Status.BLOCKED, entity.getTasksBlocked());
+
+        var tasksByPriority = new EnumMap<Priority, Long>(Priority.class);
+        tasksByPriority.put(Priority.LOW, entity.getTasksLow());
+        tasksByPriority.put(Priority.MEDIUM, entity.getTasksMedium());
+        tasksByPriority.put(Priority.HIGH, entity.getTasksHigh());
+        tasksByPriority.put(Priority.URGENT, entity.getTasksUrgent());
+
+        return new TeamSummary()
+            .setMemberCount(entity.getMemberCount())
+            .setTasksByStatus(tasksByStatus)
+            .setTasksByPriority(tasksByPriority)
+            .setUpdatedAt(entity.getUpdatedAt());
+    }
+}
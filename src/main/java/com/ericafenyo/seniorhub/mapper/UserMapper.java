@@ -25,7 +25,9 @@
 package com.ericafenyo.seniorhub.mapper;
 
 import com.ericafenyo.seniorhub.entities.UserEntity;
+import com.ericafenyo.seniorhub.model.Address;
 import com.ericafenyo.seniorhub.model.User;
+import com.ericafenyo.seniorhub.projections.UserView;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
@@ -64,4 +66,34 @@ public class UserMapper implements Function<UserEntity, User> {
 
         return user;
     }
+
+    /**
+     * Converts a {@link UserView} to a {@link User}.
+     *
+     * @param view The input user projection.
+     * @return The mapped user.
+     */
+    public User fromView(UserView view) {
+        var user = new User()
+            .setId(view.uuid())
+            .setFirstName(view.firstName())
+            .setLastName(view.lastName())
+            .setBirthDate(view.birthDate())
+            .setEmail(view.email())
+            .setPhotoUrl(view.photoUrl())
+            .setCreatedAt(view.createdAt())
+            .setUpdatedAt(view.updatedAt());
+
+        if (view.addressUuid() != null) {
+            var address = new Address();
+            address.setId(view.addressUuid());
+            address.setStreet(view.street());
+            address.setPostalCode(view.postalCode());
+            address.setCity(view.city());
+            address.setCountry(view.country());
+            user.setAddress(address);
+        }
+
+        return user;
+    }
 }
@@ -47,11 +47,6 @@ public class Invitation {
      */
     private String email;
 
-    /**
-     * The token used to validate the invitation
-     */
-    private String token;
-
     /**
      * The role that will be assigned to the member upon acceptance
      */
@@ -0,0 +1,79 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (C) 2024 Eric Afenyo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.ericafenyo.seniorhub.model;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+/**
+ * Represents the outcome of one invitation of a batch.
+ */
+@Getter
+@Setter
+@Accessors(chain = true)
+public class InvitationResult {
+    /**
+     * The email address of the person being invited
+     */
+    private String email;
+
+    /**
+     * The role requested for the person being invited
+     */
+    private String role;
+
+    /**
+     * The outcome of the invitation
+     */
+    private Status status;
+
+    /**
+     * The identifier of the created invitation, if any
+     */
+    private String invitationId;
+
+    public enum Status {
+        /**
+         * The invitation has been created and its email queued.
+         */
+        INVITED,
+
+        /**
+         * The email address appears more than once in the batch, only its first occurrence is invited.
+         */
+        DUPLICATE,
+
+        /**
+         * A pending invitation to the team already exists for the email address.
+         */
+        ALREADY_INVITED,
+
+        /**
+         * The requested role does not exist.
+         */
+        INVALID_ROLE
+    }
+}
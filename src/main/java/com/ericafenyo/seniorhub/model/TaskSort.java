@@ -0,0 +1,71 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (C) 2024 Eric Afenyo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.ericafenyo.seniorhub.model;
+
+import com.ericafenyo.seniorhub.exceptions.BadRequestException;
+import lombok.Getter;
+
+/**
+ * The orders in which the tasks of a team can be listed. Ties are broken by primary key, in the same direction.
+ * <p>
+ * Tasks without due date come first when sorting by ascending due date, and last when sorting by descending due
+ * date, as the database orders them, so that the listing can be read from the indexes.
+ */
+@Getter
+public enum TaskSort {
+    CREATED_AT("created_at", false),
+    CREATED_AT_DESC("-created_at", true),
+    DUE_DATE("due_date", false),
+    DUE_DATE_DESC("-due_date", true);
+
+    /**
+     * The value of the sort parameter selecting this order.
+     */
+    private final String value;
+    private final boolean descending;
+
+    TaskSort(String value, boolean descending) {
+        this.value = value;
+        this.descending = descending;
+    }
+
+    public boolean isByDueDate() {
+        return this == DUE_DATE || this == DUE_DATE_DESC;
+    }
+
+    /**
+     * Returns the order selected by the given sort parameter.
+     *
+     * @throws BadRequestException If the parameter does not select any order.
+     */
+    public static TaskSort parse(String value) throws BadRequestException {
+        for (var sort : values()) {
+            if (sort.value.equals(value)) {
+                return sort;
+            }
+        }
+        throw new BadRequestException("Unsupported sort order " + value, "invalid_sort");
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (C) 2024 Eric Afenyo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.ericafenyo.seniorhub.model;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * A model class representing the figures shown on the dashboard of a team.
+ */
+@Setter
+@Getter
+@Accessors(chain = true)
+public class TeamSummary {
+    /**
+     * The number of members of the team.
+     */
+    private long memberCount;
+
+    /**
+     * The number of tasks of the team, by status.
+     */
+    private Map<Task.Status, Long> tasksByStatus;
+
+    /**
+     * The number of tasks of the team, by priority.
+     */
+    private Map<Priority, Long> tasksByPriority;
+
+    /**
+     * The number of tasks not completed whose due date has passed.
+     */
+    private long overdueTasks;
+
+    /**
+     * The number of appointments that have not started yet.
+     */
+    private long upcomingAppointments;
+
+    /**
+     * The number of medications currently taken.
+     */
+    private long activeMedications;
+
+    /**
+     * The timestamp indicating when the figures were last updated.
+     */
+    private Instant updatedAt;
+}
@@ -0,0 +1,112 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (C) 2024 Eric Afenyo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.ericafenyo.seniorhub.monitoring;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The SQL statements executed on behalf of an HTTP request, and the time spent executing them.
+ * <p>
+ * The statistics of the request being handled are bound to the current thread by {@link SqlStatisticsFilter}
+ * and fed by {@link SqlStatisticsListener}. The tasks of asynchronous responses, such as streamed exports, carry
+ * them over to their thread through {@link SqlStatisticsTaskDecorator}. Statements executed on other threads, such as
+ * by scheduled tasks, are not recorded.
+ */
+public final class SqlStatistics {
+    private static final ThreadLocal<SqlStatistics> CURRENT = new ThreadLocal<>();
+
+    private final AtomicInteger statements = new AtomicInteger();
+    private final AtomicLong nanos = new AtomicLong();
+
+    /**
+     * Starts recording the statements executed by the current thread.
+     */
+    static SqlStatistics start() {
+        var statistics = new SqlStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    /**
+     * Stops recording the statements executed by the current thread.
+     */
+    static void stop() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Wraps a task so that the statements it executes on another thread are recorded with those of the current
+     * thread, if it is recording.
+     *
+     * @param task The task to run on another thread.
+     * @return The wrapped task.
+     */
+    static Runnable propagate(Runnable task) {
+        var statistics = CURRENT.get();
+        if (statistics == null) {
+            return task;
+        }
+
+        return () -> {
+            CURRENT.set(statistics);
+            try {
+                task.run();
+            } finally {
+                CURRENT.remove();
+            }
+        };
+    }
+
+    /**
+     * Records a statement executed by the current thread, if it is recording.
+     *
+     * @param elapsedNanos The time spent executing the statement.
+     */
+    static void record(long elapsedNanos) {
+        var statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.statements.incrementAndGet();
+            statistics.nanos.addAndGet(elapsedNanos);
+        }
+    }
+
+    public int getStatements() {
+        return statements.get();
+    }
+
+    public Duration getJdbcTime() {
+        return Duration.ofNanos(nanos.get());
+    }
+
+    /**
+     * Formats the statistics as a {@code Server-Timing} header metric.
+     */
+    public String toServerTiming() {
+        return String.format(Locale.ROOT, "sql;desc=\"%d statements\";dur=%.1f", getStatements(), nanos.get() / 1e6);
+    }
+}
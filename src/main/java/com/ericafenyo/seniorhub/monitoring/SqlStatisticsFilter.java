@@ -0,0 +1,236 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (C) 2024 Eric Afenyo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.ericafenyo.seniorhub.monitoring;
+
+import com.ericafenyo.seniorhub.EnvironmentVariables;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Counts the SQL statements executed by each request and the JDBC time they took.
+ * <p>
+ * The counts are recorded as metrics tagged with the endpoint once the response is complete, including the
+ * statements executed while writing the body. They are also sent back in a {@code Server-Timing} header, which
+ * has to go out before the body and so only covers the statements executed until then; clients sending
+ * {@code TE: trailers} get the final counts in a {@code Server-Timing} trailer as well.
+ * <p>
+ * A request executing more statements than the budget of its endpoint, set with {@link SqlBudget} or defaulting
+ * to {@code sql-statement-budget}, is logged and counted in {@code http.server.sql.budget.exceeded}. The response
+ * is already sent by then, so the request does not fail.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SqlStatisticsFilter extends OncePerRequestFilter {
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private final MeterRegistry registry;
+    private final int defaultBudget;
+
+    public SqlStatisticsFilter(EnvironmentVariables environment, MeterRegistry registry) {
+        this.registry = registry;
+        this.defaultBudget = environment.getSqlStatementBudget();
+    }
+
+    @Override
+    protected void doFilterInternal(
+        @NonNull HttpServletRequest request,
+        @NonNull HttpServletResponse response,
+        @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        var statistics = SqlStatistics.start();
+        var timedResponse = new ServerTimingResponse(response, statistics, acceptsTrailers(request));
+        try {
+            filterChain.doFilter(request, timedResponse);
+        } finally {
+            SqlStatistics.stop();
+            timedResponse.addServerTiming();
+        }
+
+        // The body of an asynchronous response is written on another thread, see SqlStatisticsTaskDecorator
+        if (request.isAsyncStarted()) {
+            request.getAsyncContext().addListener(new CompletionListener(() -> check(request, statistics)));
+        } else {
+            check(request, statistics);
+        }
+    }
+
+    private static boolean acceptsTrailers(HttpServletRequest request) {
+        var te = request.getHeader("TE");
+        return te != null && te.toLowerCase(Locale.ROOT).contains("trailers");
+    }
+
+    private void check(HttpServletRequest request, SqlStatistics statistics) {
+        var pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        var uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        var method = request.getMethod();
+
+        DistributionSummary.builder("http.server.sql.statements")
+            .description("Number of SQL statements executed by a request")
+            .tags("method", method, "uri", uri)
+            .register(registry)
+            .record(statistics.getStatements());
+        Timer.builder("http.server.sql.time")
+            .description("JDBC time spent by a request")
+            .tags("method", method, "uri", uri)
+            .register(registry)
+            .record(statistics.getJdbcTime());
+
+        int budget = budgetOf(request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE));
+        if (statistics.getStatements() <= budget) {
+            return;
+        }
+
+        Counter.builder("http.server.sql.budget.exceeded")
+            .description("Number of requests that executed more SQL statements than their budget")
+            .tags("method", method, "uri", uri)
+            .register(registry)
+            .increment();
+
+        log.warn(
+            "{} {} executed {} SQL statements, over its budget of {}", method, uri, statistics.getStatements(), budget
+        );
+    }
+
+    private int budgetOf(Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return defaultBudget;
+        }
+
+        var budget = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getMethod(), SqlBudget.class);
+        if (budget == null) {
+            budget = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getBeanType(), SqlBudget.class);
+        }
+        return budget != null ? budget.statements() : defaultBudget;
+    }
+
+    /**
+     * Runs an action once an asynchronous request is complete, whether it succeeded, failed or timed out.
+     */
+    private record CompletionListener(Runnable action) implements AsyncListener {
+        @Override
+        public void onComplete(AsyncEvent event) {
+            action.run();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+
+    /**
+     * Adds the {@code Server-Timing} header right before the response is committed, which happens as soon as
+     * the body starts being written, and the trailer carrying the final counts when the client accepts it.
+     */
+    private static final class ServerTimingResponse extends HttpServletResponseWrapper {
+        private final SqlStatistics statistics;
+        private final boolean trailers;
+        private boolean timed;
+
+        ServerTimingResponse(HttpServletResponse response, SqlStatistics statistics, boolean trailers) {
+            super(response);
+            this.statistics = statistics;
+            this.trailers = trailers;
+        }
+
+        void addServerTiming() {
+            if (!timed && !isCommitted()) {
+                timed = true;
+                addHeader(SERVER_TIMING_HEADER, statistics.toServerTiming());
+                if (trailers) {
+                    setTrailerFields(() -> Map.of(SERVER_TIMING_HEADER, statistics.toServerTiming()));
+                }
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            addServerTiming();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            addServerTiming();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            addServerTiming();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int status) throws IOException {
+            addServerTiming();
+            super.sendError(status);
+        }
+
+        @Override
+        public void sendError(int status, String message) throws IOException {
+            addServerTiming();
+            super.sendError(status, message);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            addServerTiming();
+            super.sendRedirect(location);
+        }
+    }
+}
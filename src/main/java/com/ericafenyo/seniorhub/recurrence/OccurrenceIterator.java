@@ -0,0 +1,90 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (C) 2024 Eric Afenyo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.ericafenyo.seniorhub.recurrence;
+
+import java.time.LocalDate;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Iterates the occurrences of a series within a window, as epoch days.
+ * <p>
+ * Each occurrence is computed when the previous one is consumed, from primitive fields only: iterating with
+ * {@link #nextLong()} allocates nothing.
+ */
+public final class OccurrenceIterator implements PrimitiveIterator.OfLong {
+    private final RecurrenceRule rule;
+    private final long base;
+    private final long end;
+    private final long to;
+
+    private long index;
+    private long next;
+    private boolean done;
+
+    OccurrenceIterator(RecurrenceRule rule, long base, long index, long end, long to) {
+        this.rule = rule;
+        this.base = base;
+        this.end = end;
+        this.to = to;
+        this.index = index;
+        advance();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !done;
+    }
+
+    /**
+     * Returns the epoch day of the next occurrence.
+     */
+    @Override
+    public long nextLong() {
+        if (done) {
+            throw new NoSuchElementException();
+        }
+        long current = next;
+        index++;
+        advance();
+        return current;
+    }
+
+    /**
+     * Returns the date of the next occurrence.
+     */
+    public LocalDate nextDate() {
+        return LocalDate.ofEpochDay(nextLong());
+    }
+
+    private void advance() {
+        if (index >= end) {
+            done = true;
+            return;
+        }
+        next = rule.occurrence(base + index * rule.interval());
+        done = next >= to;
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (C) 2024 Eric Afenyo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.ericafenyo.seniorhub.recurrence;
+
+import com.ericafenyo.seniorhub.entities.RecurrenceEntity;
+import com.ericafenyo.seniorhub.model.Frequency;
+
+import java.time.LocalDate;
+import java.time.Year;
+
+/**
+ * The rule of a recurring series, evaluated lazily over a window of dates.
+ * <p>
+ * The series is divided in periods of the frequency: days, weeks starting on Monday, months or years, and holds one
+ * occurrence in every {@code interval}-th period counted from the period of the start date:
+ * <ul>
+ *   <li>DAILY: the day itself.</li>
+ *   <li>WEEKLY: the {@code dayOfWeek} of the week.</li>
+ *   <li>MONTHLY: the {@code dayOfMonth} of the month, or when it is 0, the {@code weekOfMonth}-th {@code dayOfWeek}.</li>
+ *   <li>YEARLY: the same day as MONTHLY, in the {@code monthOfYear} of the year.</li>
+ * </ul>
+ * A day of month past the end of a month falls on its last day, and a fifth or last ({@code -1}) weekday on the last
+ * such weekday of the month, so that every period has exactly one occurrence. An occurrence of the first period
+ * before the start date is not part of the series, and the series ends after {@code limit} occurrences, if any.
+ * <p>
+ * Since every period holds one occurrence, the position of any date in the series is computed directly, and
+ * iterating a window neither walks nor materializes the occurrences before it.
+ */
+public final class RecurrenceRule {
+    private final Frequency frequency;
+    private final int interval;
+    private final int limit;
+    private final int dayOfWeek;
+    private final int weekOfMonth;
+    private final int dayOfMonth;
+    private final int monthOfYear;
+
+    /**
+     * @param frequency   The length of the periods.
+     * @param interval    The number of periods between two occurrences, at least 1.
+     * @param limit       The maximum number of occurrences of the series, or 0 for no limit.
+     * @param dayOfWeek   The ISO day of week, from 1 for Monday to 7 for Sunday.
+     * @param weekOfMonth The week of the weekday in the month, from 1 to 5, or -1 for the last one.
+     * @param dayOfMonth  The day of month from 1 to 31, or 0 to use the weekday of the month instead.
+     * @param monthOfYear The month of yearly series, from 1 to 12.
+     * @throws IllegalArgumentException If a field is out of range.
+     */
+    public RecurrenceRule(
+        Frequency frequency,
+        int interval,
+        int limit,
+        int dayOfWeek,
+        int weekOfMonth,
+        int dayOfMonth,
+        int monthOfYear
+    ) {
+        if (frequency == null) {
+            throw new IllegalArgumentException("The frequency is required");
+        }
+        check(interval >= 1, "interval", interval);
+        check(limit >= 0, "limit", limit);
+        check(dayOfWeek >= 1 && dayOfWeek <= 7, "day of week", dayOfWeek);
+        check(weekOfMonth == -1 || (weekOfMonth >= 1 && weekOfMonth <= 5), "week of month", weekOfMonth);
+        check(dayOfMonth >= 0 && dayOfMonth <= 31, "day of month", dayOfMonth);
+        check(monthOfYear >= 1 && monthOfYear <= 12, "month of year", monthOfYear);
+
+        this.frequency = frequency;
+        this.interval = interval;
+        this.limit = limit;
+        this.dayOfWeek = dayOfWeek;
+        this.weekOfMonth = weekOfMonth;
+        this.dayOfMonth = dayOfMonth;
+        this.monthOfYear = monthOfYear;
+    }
+
+    /**
+     * Creates the rule stored in a recurrence: {@code count} is the limit of occurrences, 0 for none, and
+     * {@code occurrences} the interval between two of them.
+     *
+     * @throws IllegalArgumentException If a field of the recurrence is out of range.
+     */
+    public static RecurrenceRule of(RecurrenceEntity entity) {
+        return new RecurrenceRule(
+            entity.getFrequency(),
+            entity.getOccurrences(),
+            entity.getCount(),
+            entity.getDayOfWeek(),
+            entity.getWeekOfMonth(),
+            entity.getDayOfMonth(),
+            entity.getMonthOfYear()
+        );
+    }
+
+    /**
+     * Creates the rule of a series repeating every period of the frequency on the same day as its start date: the
+     * same day of week for weekly series, of month for monthly series, and of year for yearly series.
+     */
+    public static RecurrenceRule repeating(Frequency frequency, LocalDate start) {
+        return new RecurrenceRule(
+            frequency,
+            1,
+            0,
+            start.getDayOfWeek().getValue(),
+            1,
+            start.getDayOfMonth(),
+            start.getMonthValue()
+        );
+    }
+
+    /**
+     * Creates the rule of a series with a single occurrence, on its start date.
+     */
+    public static RecurrenceRule once() {
+        return new RecurrenceRule(Frequency.DAILY, 1, 1, 1, 1, 1, 1);
+    }
+
+    /**
+     * Returns the occurrences of the series starting on the given date that fall within [from, to), in order.
+     *
+     * @param start The start date of the series.
+     * @param from  The first date of the window, inclusive.
+     * @param to    The end of the window, exclusive.
+     */
+    public OccurrenceIterator occurrences(LocalDate start, LocalDate from, LocalDate to) {
+        long base = period(start);
+        long first = occurrence(base) < start.toEpochDay() ? 1 : 0;
+        long end = limit == 0 ? Long.MAX_VALUE : first + limit;
+
+        long index = first;
+        long fromDay = from.toEpochDay();
+        if (fromDay > start.toEpochDay()) {
+            // The occurrence of the period of "from" may precede it, the next one cannot
+            index = Math.max(first, Math.floorDiv(period(from) - base, interval));
+            while (index < end && occurrence(base + index * interval) < fromDay) {
+                index++;
+            }
+        }
+
+        return new OccurrenceIterator(this, base, index, end, to.toEpochDay());
+    }
+
+    /**
+     * Returns the epoch day of the occurrence of the given period.
+     */
+    long occurrence(long period) {
+        return switch (frequency) {
+            case DAILY -> period;
+            // Week 0 starts on Monday 1969-12-29, 3 days before the epoch
+            case WEEKLY -> period * 7 - 3 + dayOfWeek - 1;
+            case MONTHLY -> dayOfMonth(Math.floorDiv(period, 12), (int) Math.floorMod(period, 12) + 1);
+            case YEARLY -> dayOfMonth(period, monthOfYear);
+        };
+    }
+
+    /**
+     * Returns the index of the period the given date falls in.
+     */
+    long period(LocalDate date) {
+        return switch (frequency) {
+            case DAILY -> date.toEpochDay();
+            case WEEKLY -> Math.floorDiv(date.toEpochDay() + 3, 7);
+            case MONTHLY -> date.getYear() * 12L + date.getMonthValue() - 1;
+            case YEARLY -> date.getYear();
+        };
+    }
+
+    long interval() {
+        return interval;
+    }
+
+    /**
+     * Returns the epoch day of the occurrence in the given month.
+     */
+    private long dayOfMonth(long year, int month) {
+        int length = lengthOfMonth(year, month);
+        if (dayOfMonth > 0) {
+            return epochDay(year, month, Math.min(dayOfMonth, length));
+        }
+
+        long first = epochDay(year, month, 1);
+        if (weekOfMonth > 0) {
+            int day = 1 + Math.floorMod(dayOfWeek - dayOfWeek(first), 7) + 7 * (weekOfMonth - 1);
+            if (day <= length) {
+                return first + day - 1;
+            }
+        }
+
+        long last = first + length - 1;
+        return last - Math.floorMod(dayOfWeek(last) - dayOfWeek, 7);
+    }
+
+    /**
+     * Returns the ISO day of week of an epoch day, the epoch being a Thursday.
+     */
+    private static int dayOfWeek(long epochDay) {
+        return (int) Math.floorMod(epochDay + 3, 7) + 1;
+    }
+
+    private static int lengthOfMonth(long year, int month) {
+        return switch (month) {
+            case 2 -> Year.isLeap(year) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+
+    /**
+     * Returns the epoch day of a date of the proleptic Gregorian calendar, without creating a {@link LocalDate}.
+     */
+    static long epochDay(long year, int month, int day) {
+        // Counts years from March, so that the leap day ends the year
+        long y = month <= 2 ? year - 1 : year;
+        long era = Math.floorDiv(y, 400);
+        long yearOfEra = y - era * 400;
+        long dayOfYear = (153L * ((month + 9) % 12) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    private static void check(boolean valid, String field, int value) {
+        if (!valid) {
+            throw new IllegalArgumentException("Invalid " + field + " " + value);
+        }
+    }
+}
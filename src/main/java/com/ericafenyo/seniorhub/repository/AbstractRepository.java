@@ -33,6 +33,12 @@ import java.util.Optional;
 
 @NoRepositoryBean
 public interface AbstractRepository<T> extends Repository<T, Long> {
+    /**
+     * The number of rows fetched from the database at a time by the stream queries. With MySQL, the hint is only
+     * honored when the connection uses {@code useCursorFetch=true}.
+     */
+    int STREAM_FETCH_SIZE = 500;
+
     @Query("SELECT e FROM #{#entityName} as e WHERE e.uuid=?1")
     Optional<T> findById(String id);
 
@@ -0,0 +1,61 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (C) 2024 Eric Afenyo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.ericafenyo.seniorhub.repository;
+
+import com.ericafenyo.seniorhub.entities.AppointmentEntity;
+import com.ericafenyo.seniorhub.projections.ScheduleView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface AppointmentRepository extends AbstractRepository<AppointmentEntity> {
+    /**
+     * Streams the appointments of a team without recurrence starting within [from, to), ordered by start date along
+     * the (team_id, start_date, id) index. The stream must be consumed and closed within a transaction.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.ericafenyo.seniorhub.projections.ScheduleView(a.uuid, a.title, a.startDate) "
+        + "FROM appointments as a "
+        + "WHERE a.team.id = ?1 AND a.recurrence IS NULL AND a.startDate >= ?2 AND a.startDate < ?3 "
+        + "ORDER BY a.startDate, a.id")
+    Stream<ScheduleView> streamScheduled(Long teamId, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Returns the recurring appointments of a team whose series start before the given date, with their recurrence.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT a FROM appointments as a JOIN FETCH a.recurrence WHERE a.team.id = ?1 AND a.startDate < ?2")
+    List<AppointmentEntity> findRecurring(Long teamId, LocalDateTime before);
+}
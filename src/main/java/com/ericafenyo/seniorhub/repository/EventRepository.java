@@ -24,9 +24,11 @@
 
 package com.ericafenyo.seniorhub.repository;
 
+import com.ericafenyo.seniorhub.api.Cursor;
 import com.ericafenyo.seniorhub.entities.EventEntity;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -36,4 +38,13 @@ public interface EventRepository {
   Optional<EventEntity> findById(String id);
 
   Iterable<EventEntity> findAll();
+
+  /**
+   * Returns the events created after the given cursor, ordered by creation date then primary key.
+   *
+   * @param cursor The position after which to start, or null to start from the beginning.
+   * @param limit  The maximum number of events to return.
+   * @return The events of the page.
+   */
+  List<EventEntity> findPage(Cursor cursor, int limit);
 }
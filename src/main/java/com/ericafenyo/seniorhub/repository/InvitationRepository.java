@@ -25,14 +25,70 @@
 package com.ericafenyo.seniorhub.repository;
 
 import com.ericafenyo.seniorhub.entities.InvitationEntity;
+import com.ericafenyo.seniorhub.entities.TeamEntity;
 import com.ericafenyo.seniorhub.model.Invitation;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface InvitationRepository extends AbstractRepository<InvitationEntity> {
-    Optional<InvitationEntity> findByToken(String token);
+    String ARCHIVED_COLUMNS = "id, uuid, email, status, token_hash, role_id, inviter_id, team_id, "
+        + "expires_at, used_at, created_at, updated_at";
 
-    Optional<InvitationEntity> findByTokenAndStatus(String token, Invitation.Status status);
+    Optional<InvitationEntity> findByTokenHash(byte[] tokenHash);
+
+    Optional<InvitationEntity> findByTokenHashAndStatus(byte[] tokenHash, Invitation.Status status);
+
+    <E extends InvitationEntity> List<E> saveAll(Iterable<E> entities);
+
+    @Query("SELECT e.email FROM invitations as e WHERE e.team=?1 AND e.email IN ?2 AND e.status='PENDING' AND e.expiresAt > ?3")
+    List<String> findPendingEmails(TeamEntity team, Collection<String> emails, Instant now);
+
+    /**
+     * Locks the next chunk of invitations that expired or were used before the given time, in primary key order.
+     * Invitations already locked by a concurrent sweeper are skipped.
+     *
+     * @param after  The primary key after which to look, the last key of the previous chunk.
+     * @param cutoff The time before which invitations must have expired or been used.
+     * @param limit  The maximum number of invitations to return.
+     * @return The primary keys of the locked invitations.
+     */
+    @Query(
+        value = "SELECT id FROM invitations WHERE id > ?1 AND (expires_at < ?2 OR used_at < ?2) "
+            + "ORDER BY id LIMIT ?3 FOR UPDATE SKIP LOCKED",
+        nativeQuery = true
+    )
+    List<Long> lockSweepableIds(long after, Instant cutoff, int limit);
+
+    /**
+     * Marks the invitation as accepted, unless it has already been used or expires before the given time.
+     *
+     * @return 1 if the invitation has been accepted by this call, 0 otherwise.
+     */
+    @Modifying
+    @Query("UPDATE invitations as e SET e.status='ACCEPTED', e.usedAt=?2, e.updatedAt=?2 "
+        + "WHERE e.id=?1 AND e.status='PENDING' AND e.usedAt IS NULL AND e.expiresAt > ?3")
+    int markAccepted(Long id, Instant usedAt, Instant expiresAfter);
+
+    /**
+     * Copies the given invitations to the archive table. The columns are listed so that a column added to the
+     * invitations only, such as one created by Hibernate, does not break archiving.
+     */
+    @Modifying
+    @Query(
+        value = "INSERT INTO invitations_archive (" + ARCHIVED_COLUMNS + ") "
+            + "SELECT " + ARCHIVED_COLUMNS + " FROM invitations WHERE id IN ?1",
+        nativeQuery = true
+    )
+    int archiveAllByIds(Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM invitations as e WHERE e.id IN ?1")
+    int deleteAllByIds(Collection<Long> ids);
 }
@@ -0,0 +1,50 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (C) 2024 Eric Afenyo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.ericafenyo.seniorhub.repository;
+
+import com.ericafenyo.seniorhub.api.Cursor;
+
+import java.util.List;
+
+/**
+ * Pages through the rows of an entity in the order of creation date then primary key, seeking the
+ * (created_at, id) index from a {@link Cursor} rather than skipping the rows of the previous pages.
+ * <p>
+ * Rows without a creation date come first, ordered by primary key alone, as MySQL sorts null keys first.
+ */
+public interface KeysetPageRepository {
+    /**
+     * Returns the rows of a query following the given cursor.
+     *
+     * @param select The select and from clauses of the query, selecting either the entity or a projection of it,
+     *               without where or order by clause.
+     * @param alias  The alias of the paged entity in the from clause, whose createdAt and id are the key.
+     * @param type   The type of the selected rows.
+     * @param cursor The position after which to start, or null to start from the beginning.
+     * @param limit  The maximum number of rows to return.
+     * @return The rows of the page.
+     */
+    <V> List<V> findPage(String select, String alias, Class<V> type, Cursor cursor, int limit);
+}
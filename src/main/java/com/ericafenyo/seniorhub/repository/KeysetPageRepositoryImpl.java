@@ -0,0 +1,67 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (C) 2024 Eric Afenyo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.ericafenyo.seniorhub.repository;
+
+import com.ericafenyo.seniorhub.api.Cursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Appends the keyset condition and order to the queries of {@link KeysetPageRepository}. Spring Data plugs it into
+ * every repository declaring that interface directly, as it does not look for fragments through inherited interfaces,
+ * and only looks for their implementation in the package of the interface.
+ */
+public class KeysetPageRepositoryImpl implements KeysetPageRepository {
+    @PersistenceContext
+    private EntityManager manager;
+
+    @Override
+    public <V> List<V> findPage(String select, String alias, Class<V> type, Cursor cursor, int limit) {
+        var createdAt = alias + ".createdAt";
+        var id = alias + ".id";
+
+        var jpql = new StringBuilder(select);
+        if (cursor != null) {
+            jpql.append(cursor.createdAt() == null
+                ? "WHERE (" + createdAt + " IS NULL AND " + id + " > :id) OR " + createdAt + " IS NOT NULL "
+                : "WHERE " + createdAt + " > :createdAt OR (" + createdAt + " = :createdAt AND " + id + " > :id) ");
+        }
+        jpql.append("ORDER BY ").append(createdAt).append(", ").append(id);
+
+        var query = manager.createQuery(jpql.toString(), type).setMaxResults(limit);
+        if (cursor != null) {
+            query.setParameter("id", cursor.id());
+            if (cursor.createdAt() != null) {
+                // Some entities record their creation date as a local date and time, which the cursor encodes as UTC
+                var local = query.getParameter("createdAt").getParameterType() == LocalDateTime.class;
+                query.setParameter("createdAt", local ? cursor.localCreatedAt() : cursor.createdAt());
+            }
+        }
+        return query.getResultList();
+    }
+}
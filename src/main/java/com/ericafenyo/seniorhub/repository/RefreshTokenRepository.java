@@ -0,0 +1,61 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (C) 2024 Eric Afenyo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.ericafenyo.seniorhub.repository;
+
+import com.ericafenyo.seniorhub.entities.RefreshTokenEntity;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Optional;
+
+@Repository
+public interface RefreshTokenRepository extends org.springframework.data.repository.Repository<RefreshTokenEntity, Long> {
+    RefreshTokenEntity save(RefreshTokenEntity entity);
+
+    Optional<RefreshTokenEntity> findByTokenHash(byte[] tokenHash);
+
+    /**
+     * Marks the token as used, unless it has already been used or revoked.
+     *
+     * @return 1 if the token has been consumed by this call, 0 otherwise.
+     */
+    @Modifying
+    @Query("UPDATE refresh_tokens as e SET e.usedAt=?2 WHERE e.id=?1 AND e.usedAt IS NULL AND e.revokedAt IS NULL")
+    int markUsed(Long id, Instant usedAt);
+
+    @Modifying
+    @Query("UPDATE refresh_tokens as e SET e.revokedAt=?2 WHERE e.family=?1 AND e.revokedAt IS NULL")
+    int revokeFamily(String family, Instant revokedAt);
+
+    @Modifying
+    @Query("DELETE FROM refresh_tokens as e WHERE e.userId=?1")
+    int deleteAllByUserId(String userId);
+
+    @Modifying
+    @Query("DELETE FROM refresh_tokens as e WHERE e.expiresAt < ?1")
+    int deleteAllByExpiresAtBefore(Instant instant);
+}
@@ -0,0 +1,52 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (C) 2024 Eric Afenyo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.ericafenyo.seniorhub.repository;
+
+import com.ericafenyo.seniorhub.entities.RevokedSubjectEntity;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@Repository
+public interface RevokedSubjectRepository extends org.springframework.data.repository.Repository<RevokedSubjectEntity, String> {
+    RevokedSubjectEntity save(RevokedSubjectEntity entity);
+
+    @Query("SELECT e.revokedAt FROM revoked_subjects as e WHERE e.subject = ?1")
+    Optional<Instant> findRevokedAt(String subject);
+
+    @Query("SELECT e.subject FROM revoked_subjects as e")
+    Stream<String> streamSubjects();
+
+    @Query("SELECT e.subject FROM revoked_subjects as e WHERE e.revokedAt > ?1")
+    Stream<String> streamSubjectsRevokedAfter(Instant instant);
+
+    @Modifying
+    @Query("DELETE FROM revoked_subjects as e WHERE e.expiresAt < ?1")
+    int deleteAllByExpiresAtBefore(Instant instant);
+}
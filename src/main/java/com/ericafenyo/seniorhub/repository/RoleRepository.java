@@ -24,13 +24,34 @@
 
 package com.ericafenyo.seniorhub.repository;
 
+import com.ericafenyo.seniorhub.api.Cursor;
 import com.ericafenyo.seniorhub.entities.RoleEntity;
 import com.ericafenyo.seniorhub.entities.UserEntity;
+import com.ericafenyo.seniorhub.projections.RoleView;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface RoleRepository extends AbstractRepository<RoleEntity> {
+public interface RoleRepository extends AbstractRepository<RoleEntity>, KeysetPageRepository {
     Optional<RoleEntity> findBySlug(String slug);
+
+    List<RoleEntity> findAllBySlugIn(Collection<String> slugs);
+
+    String SELECT_VIEW = "SELECT new com.ericafenyo.seniorhub.projections.RoleView("
+        + "r.id, r.uuid, r.name, r.slug, r.description, r.createdAt) "
+        + "FROM roles as r ";
+
+    /**
+     * Returns the roles created after the given cursor, ordered by creation date then primary key.
+     *
+     * @param cursor The position after which to start, or null to start from the beginning.
+     * @param limit  The maximum number of roles to return.
+     * @return The roles of the page.
+     */
+    default List<RoleView> findViewPage(Cursor cursor, int limit) {
+        return findPage(SELECT_VIEW, "r", RoleView.class, cursor, limit);
+    }
 }
@@ -25,7 +25,37 @@
 package com.ericafenyo.seniorhub.repository;
 
 import com.ericafenyo.seniorhub.entities.TaskEntity;
+import com.ericafenyo.seniorhub.projections.ScheduleView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
 @Repository
-public interface TaskRepository extends AbstractRepository<TaskEntity> { }
+public interface TaskRepository extends AbstractRepository<TaskEntity> {
+    /**
+     * Streams the tasks of a team without recurrence due within [from, to), ordered by due date along the
+     * (team_id, due_date, id) index. The stream must be consumed and closed within a transaction.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.ericafenyo.seniorhub.projections.ScheduleView(t.uuid, t.title, t.dueDate) "
+        + "FROM tasks as t "
+        + "WHERE t.team.id = ?1 AND t.recurrence IS NULL AND t.dueDate >= ?2 AND t.dueDate < ?3 "
+        + "ORDER BY t.dueDate, t.id")
+    Stream<ScheduleView> streamScheduled(Long teamId, LocalDate from, LocalDate to);
+
+    /**
+     * Returns the recurring tasks of a team whose series start before the given date, with their recurrence.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT t FROM tasks as t JOIN FETCH t.recurrence WHERE t.team.id = ?1 AND t.dueDate < ?2")
+    List<TaskEntity> findRecurring(Long teamId, LocalDate before);
+}
@@ -24,18 +24,73 @@
 
 package com.ericafenyo.seniorhub.repository;
 
+import com.ericafenyo.seniorhub.api.Cursor;
 import com.ericafenyo.seniorhub.entities.TeamEntity;
+import com.ericafenyo.seniorhub.projections.TeamView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface TeamRepository extends AbstractRepository<TeamEntity> {
+public interface TeamRepository extends AbstractRepository<TeamEntity>, KeysetPageRepository {
     default boolean existsByName(String name) {
         return countByName(name) > 0;
     }
 
     long countByName(String name);
 
-    List<TeamEntity> findAllByCreatorId(Long id);
+    String SELECT_VIEW = "SELECT new com.ericafenyo.seniorhub.projections.TeamView("
+        + "t.id, t.uuid, t.name, t.description, t.createdAt, t.updatedAt) "
+        + "FROM teams as t ";
+
+    @Query(SELECT_VIEW + "WHERE t.uuid = ?1")
+    Optional<TeamView> findViewById(String id);
+
+    /**
+     * Streams the projections of all the teams ordered by primary key, {@link #STREAM_FETCH_SIZE} rows at a time. The
+     * stream must be consumed and closed within a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE))
+    @Query(SELECT_VIEW + "ORDER BY t.id")
+    Stream<TeamView> streamViews();
+
+    /**
+     * Returns the internal primary key of the team with the given public id.
+     */
+    @Query("SELECT t.id FROM teams as t WHERE t.uuid = ?1")
+    Optional<Long> findInternalId(String id);
+
+    @Query("SELECT t.id FROM teams as t WHERE t.id > ?1 ORDER BY t.id")
+    List<Long> findIdsAfter(Long after, Limit limit);
+
+    @Query(SELECT_VIEW + "WHERE t.creator.id = ?1")
+    List<TeamView> findAllViewsByCreatorId(Long id);
+
+    /**
+     * Returns the teams created after the given cursor, ordered by creation date then primary key.
+     *
+     * @param cursor The position after which to start, or null to start from the beginning.
+     * @param limit  The maximum number of teams to return.
+     * @return The teams of the page.
+     */
+    default List<TeamView> findViewPage(Cursor cursor, int limit) {
+        return findPage(SELECT_VIEW, "t", TeamView.class, cursor, limit);
+    }
+
+    /**
+     * Adds a member to a team without loading the current members. Adding an existing member has no effect.
+     *
+     * @return 1 if the member has been added, 0 if it was already a member.
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO team_user (team_id, user_id) VALUES (?1, ?2)", nativeQuery = true)
+    int addMember(Long teamId, Long userId);
 }
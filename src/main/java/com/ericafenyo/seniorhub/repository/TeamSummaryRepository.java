@@ -0,0 +1,104 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (C) 2024 Eric Afenyo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.ericafenyo.seniorhub.repository;
+
+import com.ericafenyo.seniorhub.entities.TeamSummaryEntity;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
+@Repository
+public interface TeamSummaryRepository extends org.springframework.data.repository.Repository<TeamSummaryEntity, Long> {
+    Optional<TeamSummaryEntity> findById(Long teamId);
+
+    /**
+     * Recomputes the summaries of the given teams from the counted rows, creating the missing ones.
+     *
+     * @param teamIds   The primary keys of the teams.
+     * @param rebuiltAt The date and time of the rebuild.
+     * @return The number of affected rows.
+     */
+    @Modifying
+    @Query(
+        value = "INSERT INTO team_summaries (team_id, member_count, "
+            + "tasks_planned, tasks_started, tasks_completed, tasks_blocked, "
+            + "tasks_low, tasks_medium, tasks_high, tasks_urgent, updated_at, rebuilt_at) "
+            + "SELECT t.id, "
+            + "(SELECT COUNT(*) FROM team_user m WHERE m.team_id = t.id), "
+            + "(SELECT COUNT(*) FROM tasks k WHERE k.team_id = t.id AND k.status = 'PLANNED'), "
+            + "(SELECT COUNT(*) FROM tasks k WHERE k.team_id = t.id AND k.status = 'STARTED'), "
+            + "(SELECT COUNT(*) FROM tasks k WHERE k.team_id = t.id AND k.status = 'COMPLETED'), "
+            + "(SELECT COUNT(*) FROM tasks k WHERE k.team_id = t.id AND k.status = 'BLOCKED'), "
+            + "(SELECT COUNT(*) FROM tasks k WHERE k.team_id = t.id AND k.priority = 'LOW'), "
+            + "(SELECT COUNT(*) FROM tasks k WHERE k.team_id = t.id AND k.priority = 'MEDIUM'), "
+            + "(SELECT COUNT(*) FROM tasks k WHERE k.team_id = t.id AND k.priority = 'HIGH'), "
+            + "(SELECT COUNT(*) FROM tasks k WHERE k.team_id = t.id AND k.priority = 'URGENT'), "
+            + "?2, ?2 "
+            + "FROM teams t WHERE t.id IN ?1 "
+            + "ON DUPLICATE KEY UPDATE member_count = VALUES(member_count), "
+            + "tasks_planned = VALUES(tasks_planned), tasks_started = VALUES(tasks_started), "
+            + "tasks_completed = VALUES(tasks_completed), tasks_blocked = VALUES(tasks_blocked), "
+            + "tasks_low = VALUES(tasks_low), tasks_medium = VALUES(tasks_medium), "
+            + "tasks_high = VALUES(tasks_high), tasks_urgent = VALUES(tasks_urgent), "
+            + "updated_at = VALUES(updated_at), rebuilt_at = VALUES(rebuilt_at)",
+        nativeQuery = true
+    )
+    int rebuild(Collection<Long> teamIds, Instant rebuiltAt);
+
+    /**
+     * Counts the tasks of a team that are not completed and whose due date has passed.
+     *
+     * @param teamId The primary key of the team.
+     * @param today  The date before which uncompleted tasks are overdue.
+     */
+    @Query("SELECT COUNT(k) FROM tasks as k WHERE k.team.id = ?1 "
+        + "AND k.status IN ('PLANNED', 'STARTED', 'BLOCKED') AND k.dueDate < ?2")
+    long countOverdueTasks(Long teamId, LocalDate today);
+
+    /**
+     * Counts the appointments of a team that have not started yet.
+     *
+     * @param teamId The primary key of the team.
+     * @param now    The date and time splitting upcoming from past appointments.
+     */
+    @Query("SELECT COUNT(a) FROM appointments as a WHERE a.team.id = ?1 AND a.startDate > ?2")
+    long countUpcomingAppointments(Long teamId, LocalDateTime now);
+
+    /**
+     * Counts the medications of a team that have started and not ended yet.
+     *
+     * @param teamId The primary key of the team.
+     * @param now    The date and time splitting active from other medications.
+     */
+    @Query("SELECT COUNT(d) FROM medications as d WHERE d.team.id = ?1 AND d.startDate <= ?2 "
+        + "AND (d.endDate IS NULL OR d.endDate > ?2)")
+    long countActiveMedications(Long teamId, LocalDateTime now);
+}
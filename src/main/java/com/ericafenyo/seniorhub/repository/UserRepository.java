@@ -24,14 +24,56 @@
 
 package com.ericafenyo.seniorhub.repository;
 
+import com.ericafenyo.seniorhub.api.Cursor;
 import com.ericafenyo.seniorhub.entities.UserEntity;
+import com.ericafenyo.seniorhub.projections.UserView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface UserRepository extends AbstractRepository<UserEntity> {
+public interface UserRepository extends AbstractRepository<UserEntity>, KeysetPageRepository {
     Optional<UserEntity> findByEmail(String email);
 
     boolean existsByEmail(String email);
+
+    String SELECT_VIEW = "SELECT new com.ericafenyo.seniorhub.projections.UserView("
+        + "u.id, u.uuid, u.firstName, u.lastName, u.birthDate, u.email, u.photoUrl, u.createdAt, u.updatedAt, "
+        + "a.uuid, a.street, a.postalCode, city.name, country.name) "
+        + "FROM users as u "
+        + "LEFT JOIN u.address as a LEFT JOIN a.city as city LEFT JOIN a.country as country ";
+
+    @Query(SELECT_VIEW + "WHERE u.uuid = ?1")
+    Optional<UserView> findViewById(String id);
+
+    /**
+     * Streams the projections of all the users ordered by primary key, {@link #STREAM_FETCH_SIZE} rows at a time. The
+     * stream must be consumed and closed within a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE))
+    @Query(SELECT_VIEW + "ORDER BY u.id")
+    Stream<UserView> streamViews();
+
+    /**
+     * Returns the internal primary key of the user with the given public id.
+     */
+    @Query("SELECT u.id FROM users as u WHERE u.uuid = ?1")
+    Optional<Long> findInternalId(String id);
+
+    /**
+     * Returns the users created after the given cursor, ordered by creation date then primary key.
+     *
+     * @param cursor The position after which to start, or null to start from the beginning.
+     * @param limit  The maximum number of users to return.
+     * @return The users of the page.
+     */
+    default List<UserView> findViewPage(Cursor cursor, int limit) {
+        return findPage(SELECT_VIEW, "u", UserView.class, cursor, limit);
+    }
 }
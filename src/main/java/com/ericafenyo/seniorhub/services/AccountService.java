@@ -24,22 +24,53 @@
 
 package com.ericafenyo.seniorhub.services;
 
-import com.ericafenyo.seniorhub.mapper.RoleMapper;
+import com.ericafenyo.seniorhub.EnvironmentVariables;
+import com.ericafenyo.seniorhub.entities.UserEntity;
 import com.ericafenyo.seniorhub.model.Account;
 import com.ericafenyo.seniorhub.repository.CredentialRepository;
 import com.ericafenyo.seniorhub.repository.UserRepository;
-import lombok.AllArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+
+/**
+ * Resolves the {@link Account} principal of a user.
+ * <p>
+ * Accounts are read through a bounded in-memory cache indexed by email and by user id, so that authenticating
+ * a request does not hit the database once the account has been loaded. Callers that change a user's email or
+ * credentials must {@link #evict(String) evict} the account.
+ */
 @Service
-@AllArgsConstructor
 public class AccountService implements UserDetailsService {
+    private static final String CACHE_NAME = "accounts";
+
     private final UserRepository userRepository;
     private final CredentialRepository credentialRepository;
-    private final RoleMapper roleMapper;
+
+    private final Cache<String, Account> accountsByEmail;
+    private final Cache<String, Account> accountsById;
+
+    public AccountService(
+        UserRepository userRepository,
+        CredentialRepository credentialRepository,
+        EnvironmentVariables environment,
+        MeterRegistry meterRegistry
+    ) {
+        this.userRepository = userRepository;
+        this.credentialRepository = credentialRepository;
+        this.accountsByEmail = createCache(environment);
+        this.accountsById = createCache(environment);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, accountsByEmail, CACHE_NAME, "index", "email");
+        CaffeineCacheMetrics.monitor(meterRegistry, accountsById, CACHE_NAME, "index", "id");
+    }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
@@ -47,15 +78,75 @@ public class AccountService implements UserDetailsService {
     }
 
     public Account getAccount(String email) {
-        var user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException("Username '" + email + "' not found"));
+        var account = accountsByEmail.get(email, key -> {
+            var user = userRepository.findByEmail(key)
+                .orElseThrow(() -> new UsernameNotFoundException("Username '" + key + "' not found"));
+            return loadAccount(user);
+        });
+
+        accountsById.put(account.getId(), account);
+        return account;
+    }
 
+    /**
+     * Returns the account of the user with the given public id.
+     *
+     * @param id The public id of the user.
+     * @return The account of the user.
+     * @throws UsernameNotFoundException If the user or its credential does not exist.
+     */
+    public Account getAccountById(String id) {
+        var account = accountsById.get(id, key -> {
+            var user = userRepository.findById(key)
+                .orElseThrow(() -> new UsernameNotFoundException("User '" + key + "' not found"));
+            return loadAccount(user);
+        });
+
+        accountsByEmail.put(account.getEmail(), account);
+        return account;
+    }
+
+    /**
+     * Removes the cached account of the user with the given email.
+     *
+     * @param email The email of the user.
+     */
+    public void evict(String email) {
+        var account = accountsByEmail.getIfPresent(email);
+        accountsByEmail.invalidate(email);
+        if (account != null) {
+            accountsById.invalidate(account.getId());
+        }
+    }
+
+    /**
+     * Removes the cached account of the user with the given public id.
+     *
+     * @param id The public id of the user.
+     */
+    public void evictById(String id) {
+        var account = accountsById.getIfPresent(id);
+        accountsById.invalidate(id);
+        if (account != null) {
+            accountsByEmail.invalidate(account.getEmail());
+        }
+    }
+
+    private Account loadAccount(UserEntity user) {
         var credential = credentialRepository.findByUserId(user.getId())
-                .orElseThrow(() -> new UsernameNotFoundException("Credential for username '" + email + "' not found"));
+            .orElseThrow(() -> new UsernameNotFoundException("Credential for username '" + user.getEmail() + "' not found"));
 
         return new Account()
-                .setId(user.getUuid())
-                .setEmail(user.getEmail())
-                .setPassword(credential.getPassword());
+            .setId(user.getUuid())
+            .setEmail(user.getEmail())
+            .setPassword(credential.getPassword());
+    }
+
+    private static Cache<String, Account> createCache(EnvironmentVariables environment) {
+        return Caffeine.newBuilder()
+            .maximumSize(environment.getAccountCacheSize())
+            .expireAfterWrite(Duration.ofSeconds(environment.getAccountCacheTtlSeconds()))
+            .recordStats()
+            .build();
     }
 }
@@ -0,0 +1,279 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (C) 2024 Eric Afenyo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.ericafenyo.seniorhub.services;
+
+import com.ericafenyo.seniorhub.EnvironmentVariables;
+import com.ericafenyo.seniorhub.Messages;
+import com.ericafenyo.seniorhub.entities.MedicationEntity;
+import com.ericafenyo.seniorhub.entities.RecurrenceEntity;
+import com.ericafenyo.seniorhub.exceptions.BadRequestException;
+import com.ericafenyo.seniorhub.exceptions.HttpException;
+import com.ericafenyo.seniorhub.exceptions.NotFoundException;
+import com.ericafenyo.seniorhub.model.AgendaItem;
+import com.ericafenyo.seniorhub.model.Frequency;
+import com.ericafenyo.seniorhub.projections.ScheduleView;
+import com.ericafenyo.seniorhub.recurrence.RecurrenceRule;
+import com.ericafenyo.seniorhub.repository.AppointmentRepository;
+import com.ericafenyo.seniorhub.repository.MedicationRepository;
+import com.ericafenyo.seniorhub.repository.TaskRepository;
+import com.ericafenyo.seniorhub.repository.TeamRepository;
+import com.ericafenyo.seniorhub.util.MergingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Writes the agenda of a team: its tasks due, appointments and medication doses within a window of days, in
+ * chronological order.
+ * <p>
+ * Every source is read in chronological order: the one-off tasks and appointments from database cursors following
+ * the team and date indexes, and each recurring task, appointment or medication from a lazy expansion of its series.
+ * A k-way merge keeping the next entry of every source in a priority queue writes the entries as they come, so the
+ * memory used by an agenda depends on the number of sources, not on the number of entries in the window.
+ */
+@Slf4j
+@Service
+public class AgendaService {
+    /**
+     * The order of the agenda: by day, tasks due on a day before the entries at a given time.
+     */
+    static final Comparator<AgendaItem> CHRONOLOGICAL = Comparator.comparing(AgendaItem::getDate)
+        .thenComparing(AgendaItem::getTime, Comparator.nullsFirst(Comparator.naturalOrder()))
+        .thenComparing(AgendaItem::getType);
+
+    private final TeamRepository teamRepository;
+    private final TaskRepository taskRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final MedicationRepository medicationRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Messages messages;
+
+    private final int maxDays;
+    private final int flushInterval;
+
+    public AgendaService(
+        TeamRepository teamRepository,
+        TaskRepository taskRepository,
+        AppointmentRepository appointmentRepository,
+        MedicationRepository medicationRepository,
+        ObjectMapper objectMapper,
+        PlatformTransactionManager transactionManager,
+        Messages messages,
+        EnvironmentVariables environment
+    ) {
+        this.teamRepository = teamRepository;
+        this.taskRepository = taskRepository;
+        this.appointmentRepository = appointmentRepository;
+        this.medicationRepository = medicationRepository;
+        this.objectMapper = objectMapper;
+        this.messages = messages;
+
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+
+        this.maxDays = environment.getAgendaMaxDays();
+        this.flushInterval = environment.getExportFlushInterval();
+    }
+
+    /**
+     * Returns a response body writing the agenda of a team as a JSON array of {@link AgendaItem}.
+     *
+     * @param teamId The public id of the team.
+     * @param from   The first day of the agenda.
+     * @param to     The day after the last day of the agenda.
+     * @throws BadRequestException If the window is empty or longer than allowed.
+     * @throws NotFoundException   If the team does not exist.
+     */
+    public StreamingResponseBody getAgenda(String teamId, LocalDate from, LocalDate to) throws HttpException {
+        if (!from.isBefore(to) || ChronoUnit.DAYS.between(from, to) > maxDays) {
+            throw new BadRequestException(
+                "The agenda must end after it starts and cover at most " + maxDays + " days",
+                "invalid_agenda_range"
+            );
+        }
+
+        var id = teamRepository.findInternalId(teamId).orElseThrow(() ->
+            new NotFoundException(
+                messages.format(Messages.ERROR_RESOURCE_WITH_ID_NOTFOUND, "Team", teamId),
+                messages.format(Messages.ERROR_RESOURCE_NOTFOUND_CODE, "team")
+            )
+        );
+
+        return output -> {
+            try {
+                transactionTemplate.executeWithoutResult(status -> write(output, id, from, to));
+            } catch (UncheckedIOException exception) {
+                // Most likely the client went away, there is no one left to report the error to
+                log.debug("Agenda interrupted", exception);
+                throw exception.getCause();
+            }
+        };
+    }
+
+    void write(OutputStream output, Long teamId, LocalDate from, LocalDate to) {
+        var start = from.atStartOfDay();
+        var end = to.atStartOfDay();
+
+        try (
+            var tasks = taskRepository.streamScheduled(teamId, from, to);
+            var appointments = appointmentRepository.streamScheduled(teamId, start, end);
+            var generator = objectMapper.createGenerator(output)
+        ) {
+            var sources = new ArrayList<Iterator<AgendaItem>>();
+            sources.add(tasks.map(view -> item(AgendaItem.Type.TASK, view)).iterator());
+            sources.add(appointments.map(view -> item(AgendaItem.Type.APPOINTMENT, view)).iterator());
+
+            for (var task : taskRepository.findRecurring(teamId, to)) {
+                var rule = rule(task.getRecurrence(), task.getUuid());
+                sources.add(series(AgendaItem.Type.TASK, task.getUuid(), task.getTitle(), rule, task.getDueDate(), null, from, to));
+            }
+            for (var appointment : appointmentRepository.findRecurring(teamId, end)) {
+                var rule = rule(appointment.getRecurrence(), appointment.getUuid());
+                var startDate = appointment.getStartDate();
+                sources.add(series(
+                    AgendaItem.Type.APPOINTMENT, appointment.getUuid(), appointment.getTitle(),
+                    rule, startDate.toLocalDate(), startDate.toLocalTime(), from, to
+                ));
+            }
+            for (var medication : medicationRepository.findTakenBetween(teamId, start, end)) {
+                sources.add(doses(medication, from, to));
+            }
+
+            generator.writeStartArray();
+
+            int count = 0;
+            for (var items = new MergingIterator<>(sources, CHRONOLOGICAL); items.hasNext(); ) {
+                generator.writeObject(items.next());
+
+                if (++count % flushInterval == 0) {
+                    generator.flush();
+                }
+            }
+
+            generator.writeEndArray();
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    /**
+     * Returns the doses of a medication within [from, to), taken at the time of its start date.
+     * <p>
+     * The frequency of a medication is free text: when it names a {@link Frequency}, a dose is taken every period
+     * from the start date until the end date, otherwise only the first dose is listed.
+     */
+    private static Iterator<AgendaItem> doses(MedicationEntity medication, LocalDate from, LocalDate to) {
+        var start = medication.getStartDate();
+        var time = start.toLocalTime();
+
+        var until = to;
+        if (medication.getEndDate() != null) {
+            var end = medication.getEndDate();
+            // The dose of the last day is taken if the treatment ends after its time
+            var last = end.toLocalTime().isBefore(time) ? end.toLocalDate() : end.toLocalDate().plusDays(1);
+            until = last.isBefore(to) ? last : to;
+        }
+
+        var frequency = frequency(medication.getFrequency());
+        var rule = frequency != null ? RecurrenceRule.repeating(frequency, start.toLocalDate()) : RecurrenceRule.once();
+
+        return series(
+            AgendaItem.Type.MEDICATION, medication.getUuid(), medication.getName(),
+            rule, start.toLocalDate(), time, from, until
+        );
+    }
+
+    private static Iterator<AgendaItem> series(
+        AgendaItem.Type type,
+        String id,
+        String title,
+        RecurrenceRule rule,
+        LocalDate start,
+        LocalTime time,
+        LocalDate from,
+        LocalDate to
+    ) {
+        if (!from.isBefore(to)) {
+            return List.<AgendaItem>of().iterator();
+        }
+
+        var occurrences = rule.occurrences(start, from, to);
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return occurrences.hasNext();
+            }
+
+            @Override
+            public AgendaItem next() {
+                return new AgendaItem(type, id, title, occurrences.nextDate(), time);
+            }
+        };
+    }
+
+    /**
+     * Returns the rule of a recurrence, or a single occurrence if the stored recurrence is incomplete.
+     */
+    private static RecurrenceRule rule(RecurrenceEntity recurrence, String owner) {
+        try {
+            return RecurrenceRule.of(recurrence);
+        } catch (IllegalArgumentException exception) {
+            log.warn("Invalid recurrence {} of {}, listing its first occurrence only", recurrence.getId(), owner, exception);
+            return RecurrenceRule.once();
+        }
+    }
+
+    private static Frequency frequency(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Frequency.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException exception) {
+            return null;
+        }
+    }
+
+    private static AgendaItem item(AgendaItem.Type type, ScheduleView view) {
+        return new AgendaItem(type, view.uuid(), view.title(), view.date(), view.time());
+    }
+}
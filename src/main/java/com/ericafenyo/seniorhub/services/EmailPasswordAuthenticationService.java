@@ -25,7 +25,10 @@
 package com.ericafenyo.seniorhub.services;
 
 
+import com.ericafenyo.seniorhub.exceptions.HttpException;
+import com.ericafenyo.seniorhub.exceptions.ServiceUnavailableException;
 import com.ericafenyo.seniorhub.exceptions.account.InvalidCredentialsException;
+import com.ericafenyo.seniorhub.security.PasswordHashingRejectedException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -37,10 +40,16 @@ import org.springframework.stereotype.Service;
 public class EmailPasswordAuthenticationService {
   private final AuthenticationManager authenticationManager;
 
-  public void authenticate(String email, String password) throws InvalidCredentialsException {
+  public void authenticate(String email, String password) throws HttpException {
     try {
       authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(email, password));
+    } catch (PasswordHashingRejectedException exception) {
+      throw new ServiceUnavailableException(exception.getRetryAfter(), exception);
     } catch (AuthenticationException exception) {
+      // Failures while loading the user, saturation included, come wrapped in an InternalAuthenticationServiceException
+      if (exception.getCause() instanceof PasswordHashingRejectedException rejected) {
+        throw new ServiceUnavailableException(rejected.getRetryAfter(), rejected);
+      }
       // TODO: Log error for reporting
       throw new InvalidCredentialsException(exception);
     }
@@ -24,16 +24,16 @@
 
 package com.ericafenyo.seniorhub.services;
 
+import com.ericafenyo.seniorhub.api.CursorPage;
 import com.ericafenyo.seniorhub.dto.CreateEventRequest;
 import com.ericafenyo.seniorhub.dto.UpdateEventRequest;
 import com.ericafenyo.seniorhub.exceptions.HttpException;
 import com.ericafenyo.seniorhub.exceptions.event.EventNotFoundException;
 import com.ericafenyo.seniorhub.model.Event;
 
-import java.util.List;
 
 public interface EventService {
-  List<Event> getEvents() throws HttpException;
+  CursorPage<Event> getEvents(String cursor, int limit) throws HttpException;
 
   Event getEventById(String id) throws HttpException;
 
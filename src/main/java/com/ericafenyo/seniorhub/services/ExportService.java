@@ -0,0 +1,137 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (C) 2024 Eric Afenyo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.ericafenyo.seniorhub.services;
+
+import com.ericafenyo.seniorhub.EnvironmentVariables;
+import com.ericafenyo.seniorhub.mapper.TeamMapper;
+import com.ericafenyo.seniorhub.mapper.UserMapper;
+import com.ericafenyo.seniorhub.repository.TeamRepository;
+import com.ericafenyo.seniorhub.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Writes whole tables to the response as JSON arrays, for administrative exports.
+ * <p>
+ * The rows are streamed from the database as projections within a read-only transaction and written one by one, so
+ * the memory used by an export does not depend on the size of the table. The projections join their associations in
+ * the same query and are not managed by the persistence context, so they can be garbage collected as soon as they are
+ * written. Every few rows the generator is flushed to the client.
+ */
+@Slf4j
+@Service
+public class ExportService {
+    private final UserRepository userRepository;
+    private final TeamRepository teamRepository;
+    private final UserMapper userMapper;
+    private final TeamMapper teamMapper;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    private final int flushInterval;
+
+    public ExportService(
+        UserRepository userRepository,
+        TeamRepository teamRepository,
+        UserMapper userMapper,
+        TeamMapper teamMapper,
+        ObjectMapper objectMapper,
+        PlatformTransactionManager transactionManager,
+        EnvironmentVariables environment
+    ) {
+        this.userRepository = userRepository;
+        this.teamRepository = teamRepository;
+        this.userMapper = userMapper;
+        this.teamMapper = teamMapper;
+        this.objectMapper = objectMapper;
+
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+
+        this.flushInterval = environment.getExportFlushInterval();
+    }
+
+    /**
+     * Returns a response body writing all the users.
+     */
+    public StreamingResponseBody exportUsers() {
+        return output -> export(output, userRepository::streamViews, userMapper::fromView);
+    }
+
+    /**
+     * Returns a response body writing all the teams.
+     */
+    public StreamingResponseBody exportTeams() {
+        return output -> export(output, teamRepository::streamViews, teamMapper::fromView);
+    }
+
+    private <V, T> void export(
+        OutputStream output,
+        Supplier<Stream<V>> rows,
+        Function<? super V, ? extends T> mapper
+    ) throws IOException {
+        try {
+            transactionTemplate.executeWithoutResult(status -> write(output, rows, mapper));
+        } catch (UncheckedIOException exception) {
+            // Most likely the client went away, there is no one left to report the error to
+            log.debug("Export interrupted", exception);
+            throw exception.getCause();
+        }
+    }
+
+    private <V, T> void write(
+        OutputStream output,
+        Supplier<Stream<V>> rows,
+        Function<? super V, ? extends T> mapper
+    ) {
+        try (var views = rows.get(); var generator = objectMapper.createGenerator(output)) {
+            generator.writeStartArray();
+
+            int count = 0;
+            for (var iterator = views.iterator(); iterator.hasNext(); ) {
+                generator.writeObject(mapper.apply(iterator.next()));
+
+                if (++count % flushInterval == 0) {
+                    generator.flush();
+                }
+            }
+
+            generator.writeEndArray();
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+}
@@ -25,12 +25,16 @@
 package com.ericafenyo.seniorhub.services;
 
 import com.ericafenyo.seniorhub.dto.AcceptInvitationRequest;
+import com.ericafenyo.seniorhub.dto.InvitationRequest;
 import com.ericafenyo.seniorhub.dto.ValidateInvitationRequest;
 import com.ericafenyo.seniorhub.exceptions.HttpException;
 import com.ericafenyo.seniorhub.exceptions.invitation.InvitationException;
 import com.ericafenyo.seniorhub.model.Invitation;
+import com.ericafenyo.seniorhub.model.InvitationResult;
 import com.ericafenyo.seniorhub.model.Report;
 
+import java.util.List;
+
 /**
  * This interface defines the contract for invitation-related operations.
  */
@@ -47,6 +51,17 @@ public interface InvitationService {
      */
     Report invite(String teamId, String inviterId, String role, String email) throws HttpException;
 
+    /**
+     * Invites several users to join a team at once.
+     *
+     * @param teamId    The ID of the team to which the users are being invited.
+     * @param inviterId The ID of the user sending the invitations.
+     * @param requests  The email address and role of each person being invited.
+     * @return The outcome of each invitation, in the order of the requests.
+     * @throws HttpException If the team or the inviter does not exist.
+     */
+    List<InvitationResult> inviteAll(String teamId, String inviterId, List<InvitationRequest> requests) throws HttpException;
+
     /**
      * Validates an invitation using the provided request.
      *
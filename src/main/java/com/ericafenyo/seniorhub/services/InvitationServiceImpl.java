@@ -27,8 +27,12 @@ package com.ericafenyo.seniorhub.services;
 import com.ericafenyo.seniorhub.EnvironmentVariables;
 import com.ericafenyo.seniorhub.Messages;
 import com.ericafenyo.seniorhub.dto.AcceptInvitationRequest;
+import com.ericafenyo.seniorhub.dto.InvitationRequest;
 import com.ericafenyo.seniorhub.dto.ValidateInvitationRequest;
 import com.ericafenyo.seniorhub.entities.InvitationEntity;
+import com.ericafenyo.seniorhub.entities.RoleEntity;
+import com.ericafenyo.seniorhub.entities.TeamEntity;
+import com.ericafenyo.seniorhub.entities.UserEntity;
 import com.ericafenyo.seniorhub.exceptions.HttpException;
 import com.ericafenyo.seniorhub.exceptions.NotFoundException;
 import com.ericafenyo.seniorhub.exceptions.invitation.InvitationAlreadyUsedException;
@@ -37,23 +41,29 @@ import com.ericafenyo.seniorhub.exceptions.invitation.InvitationNotFoundExceptio
 import com.ericafenyo.seniorhub.exceptions.role.InvalidRoleException;
 import com.ericafenyo.seniorhub.mapper.InvitationMapper;
 import com.ericafenyo.seniorhub.model.Invitation;
+import com.ericafenyo.seniorhub.model.InvitationResult;
 import com.ericafenyo.seniorhub.model.Mail;
 import com.ericafenyo.seniorhub.model.Report;
 import com.ericafenyo.seniorhub.repository.InvitationRepository;
 import com.ericafenyo.seniorhub.repository.RoleRepository;
 import com.ericafenyo.seniorhub.repository.TeamRepository;
 import com.ericafenyo.seniorhub.repository.UserRepository;
-import com.ericafenyo.seniorhub.util.Hashing;
+import com.ericafenyo.seniorhub.util.SecureTokens;
 import com.ericafenyo.seniorhub.util.Invitations;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 
 import static com.ericafenyo.seniorhub.Messages.ERROR_RESOURCE_NOTFOUND;
 import static com.ericafenyo.seniorhub.Messages.ERROR_RESOURCE_NOTFOUND_CODE;
 import static com.ericafenyo.seniorhub.Messages.MESSAGE_INVITATION_ACCEPTED;
+import static com.ericafenyo.seniorhub.Messages.MESSAGE_INVITATION_SENT;
 
 @Service
 @RequiredArgsConstructor
@@ -62,10 +72,12 @@ public class InvitationServiceImpl implements InvitationService {
     private final InvitationMapper invitationMapper;
     private final InvitationRepository invitationRepository;
     private final MailService mailService;
+    private final MailOutboxService mailOutboxService;
     private final UserRepository userRepository;
     private final Messages messages;
     private final TeamRepository teamRepository;
     private final RoleRepository roleRepository;
+    private final TeamSummaryTracker teamSummaryTracker;
 
     @Override
     @Transactional
@@ -87,28 +99,119 @@ public class InvitationServiceImpl implements InvitationService {
 
         var role = roleRepository.findBySlug(roleSlug).orElseThrow(() -> new InvalidRoleException());
 
-        String token = Hashing.randomSHA256();
+        var token = SecureTokens.generate();
+        var invitation = newInvitation(team, inviter, role, email, token);
+        invitationRepository.save(invitation);
+
+        // Queue the email in this transaction, it is delivered once the invitation has been committed
+        mailOutboxService.enqueue(composeInvitation(email, token));
+        return new Report(messages.get(MESSAGE_INVITATION_SENT));
+    }
+
+    @Override
+    @Transactional
+    public List<InvitationResult> inviteAll(
+        String teamId,
+        String inviterId,
+        List<InvitationRequest> requests
+    ) throws HttpException {
+        // Resolve the inviter, the team and the roles once for the whole batch
+        var inviter = userRepository.findById(inviterId).orElseThrow(
+            () -> new NotFoundException(
+                messages.format(Messages.ERROR_RESOURCE_WITH_ID_NOTFOUND, "User", inviterId),
+                messages.format(ERROR_RESOURCE_NOTFOUND_CODE, "user")
+            )
+        );
+
+        var team = teamRepository.findById(teamId).orElseThrow(() -> new NotFoundException(
+            messages.format(Messages.ERROR_RESOURCE_WITH_ID_NOTFOUND, "Team", teamId),
+            messages.format(ERROR_RESOURCE_NOTFOUND_CODE, "team")
+        ));
+
+        var slugs = new HashSet<String>();
+        var emails = new HashSet<String>();
+        for (InvitationRequest request : requests) {
+            slugs.add(request.getRole());
+            emails.add(request.getEmail());
+        }
+
+        var roles = new HashMap<String, RoleEntity>();
+        for (RoleEntity role : roleRepository.findAllBySlugIn(slugs)) {
+            roles.put(role.getSlug(), role);
+        }
 
-        var invitation = new InvitationEntity()
-            .setToken(token)
+        var pending = new HashSet<>(invitationRepository.findPendingEmails(team, emails, Instant.now()));
+
+        var results = new ArrayList<InvitationResult>(requests.size());
+        var invitations = new ArrayList<InvitationEntity>(requests.size());
+        var tokens = new ArrayList<String>(requests.size());
+        var invited = new ArrayList<InvitationResult>(requests.size());
+        var seen = new HashSet<String>();
+
+        for (InvitationRequest request : requests) {
+            var result = new InvitationResult()
+                .setEmail(request.getEmail())
+                .setRole(request.getRole());
+            results.add(result);
+
+            var role = roles.get(request.getRole());
+            if (role == null) {
+                result.setStatus(InvitationResult.Status.INVALID_ROLE);
+            } else if (!seen.add(request.getEmail())) {
+                result.setStatus(InvitationResult.Status.DUPLICATE);
+            } else if (pending.contains(request.getEmail())) {
+                result.setStatus(InvitationResult.Status.ALREADY_INVITED);
+            } else {
+                var token = SecureTokens.generate();
+                invitations.add(newInvitation(team, inviter, role, request.getEmail(), token));
+                tokens.add(token);
+                invited.add(result.setStatus(InvitationResult.Status.INVITED));
+            }
+        }
+
+        invitationRepository.saveAll(invitations);
+
+        var mails = new ArrayList<Mail>(invitations.size());
+        for (int i = 0; i < invitations.size(); i++) {
+            var invitation = invitations.get(i);
+            invited.get(i).setInvitationId(invitation.getUuid());
+            mails.add(composeInvitation(invitation.getEmail(), tokens.get(i)));
+        }
+
+        // The dispatcher sends the emails with a bounded concurrency once the batch has been committed
+        mailOutboxService.enqueueAll(mails);
+
+        return results;
+    }
+
+    private InvitationEntity newInvitation(
+        TeamEntity team,
+        UserEntity inviter,
+        RoleEntity role,
+        String email,
+        String token
+    ) {
+        // Only the hash of the token is stored, the token itself is only sent to the invitee
+        return new InvitationEntity()
+            .setTokenHash(SecureTokens.hash(token))
             .setEmail(email)
             .setRole(role)
             .setExpiresAt(Instant.now().plusSeconds(environment.getInvitationExpirySeconds()))
             .setTeam(team)
             .setInviter(inviter);
+    }
 
-        invitationRepository.save(invitation);
-
+    private Mail composeInvitation(String email, String token) {
         var baseUrl = environment.getBaseUrl();
         var link = "%s/invitations?token=%s".formatted(baseUrl, token);
         var context = new Mail.Context();
         context.put("link", link);
-        return mailService.sendInvitation(email, context);
+        return mailService.composeInvitation(email, context);
     }
 
     @Override
     public Invitation validateInvitation(ValidateInvitationRequest request) throws HttpException {
-        var invitation = invitationRepository.findByToken(request.getToken())
+        var invitation = invitationRepository.findByTokenHash(SecureTokens.hash(request.getToken()))
             .orElseThrow(() -> new InvitationNotFoundException());
 
         // Check if the invitation has already been accepted
@@ -136,7 +239,7 @@ public class InvitationServiceImpl implements InvitationService {
     @Transactional
     public Report acceptInvitation(AcceptInvitationRequest request) throws HttpException {
         // Check if the invitation exists
-        var invitation = invitationRepository.findByToken(request.getToken())
+        var invitation = invitationRepository.findByTokenHash(SecureTokens.hash(request.getToken()))
             .orElseThrow(() -> new NotFoundException(
                 messages.format(ERROR_RESOURCE_NOTFOUND, "invitation"),
                 messages.format(ERROR_RESOURCE_NOTFOUND_CODE, "invitation")
@@ -158,14 +261,21 @@ public class InvitationServiceImpl implements InvitationService {
                 messages.format(ERROR_RESOURCE_NOTFOUND_CODE, "invitee")
             ));
 
-        var team = invitation.getTeam();
-
-        team.getMembers().add(invitee);
-
-        invitation.setUsedAt(Instant.now());
-        invitation.setStatus(Invitation.Status.ACCEPTED);
+        // Consume the invitation with a conditional update: when the same token is accepted concurrently, the
+        // row lock makes the other acceptance wait, then match nothing
+        var now = Instant.now();
+        var accepted = invitationRepository.markAccepted(
+            invitation.getId(), now, now.plus(Invitations.EXPIRY_MARGIN)
+        );
+        if (accepted == 0) {
+            throw new InvitationAlreadyUsedException();
+        }
 
-        invitationRepository.save(invitation);
+        // Insert the membership directly, the current members of the team are never loaded
+        var teamId = invitation.getTeam().getId();
+        if (teamRepository.addMember(teamId, invitee.getId()) > 0) {
+            teamSummaryTracker.memberAdded(teamId);
+        }
 
         return new Report(messages.get(MESSAGE_INVITATION_ACCEPTED));
     }
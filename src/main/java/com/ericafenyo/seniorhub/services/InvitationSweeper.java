@@ -0,0 +1,199 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (C) 2024 Eric Afenyo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.ericafenyo.seniorhub.services;
+
+import com.ericafenyo.seniorhub.EnvironmentVariables;
+import com.ericafenyo.seniorhub.repository.InvitationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Removes the invitations that expired or were used a while ago.
+ * <p>
+ * The table is walked in primary key order, one chunk per short transaction, with a pause between chunks to
+ * bound the load put on the database. Each chunk is locked with {@code SKIP LOCKED}, so sweepers running on
+ * several nodes share the work instead of contending for the same rows.
+ * <p>
+ * The sweeps run on a thread of their own, and the pause is a delay before the next chunk is scheduled rather than
+ * a sleep, so a long sweep neither holds the shared Spring scheduler nor a thread while it waits.
+ * <p>
+ * In {@link Mode#ARCHIVE archive} mode the rows are copied to the {@code invitations_archive} table before being
+ * deleted, see {@link InvitationRepository#ARCHIVED_COLUMNS} for the columns it must have.
+ */
+@Slf4j
+@Service
+public class InvitationSweeper {
+    private final InvitationRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final ScheduledExecutorService scheduler;
+
+    private final Mode mode;
+    private final int chunkSize;
+    private final Duration pause;
+    private final Duration retention;
+    private final Duration interval;
+
+    private final Counter swept;
+    private final Timer chunkTimer;
+
+    public InvitationSweeper(
+        InvitationRepository repository,
+        TransactionTemplate transactionTemplate,
+        EnvironmentVariables environment,
+        MeterRegistry registry
+    ) {
+        this.repository = repository;
+        this.transactionTemplate = transactionTemplate;
+
+        this.mode = Mode.valueOf(environment.getInvitationSweeperMode().toUpperCase());
+        this.chunkSize = environment.getInvitationSweeperChunkSize();
+        this.pause = Duration.ofMillis(environment.getInvitationSweeperPauseMillis());
+        this.retention = Duration.ofSeconds(environment.getInvitationSweeperRetentionSeconds());
+        this.interval = Duration.ofSeconds(environment.getInvitationSweeperIntervalSeconds());
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "invitation-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.swept = Counter.builder("invitations.swept")
+            .description("Number of expired or used invitations removed from the invitations table")
+            .tag("mode", mode.name().toLowerCase())
+            .register(registry);
+        this.chunkTimer = Timer.builder("invitations.sweeper.chunk")
+            .description("Time spent sweeping a chunk of invitations")
+            .register(registry);
+    }
+
+    /**
+     * Schedules the first sweep once the application is ready, each sweep schedules the next one when it ends.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        schedule(this::sweep, interval);
+    }
+
+    private void sweep() {
+        step(new Pass(Instant.now().minus(retention)));
+    }
+
+    /**
+     * Sweeps the next chunk of the pass, then schedules the following chunk after a pause, or the next sweep once
+     * the pass is over.
+     */
+    private void step(Pass pass) {
+        List<Long> ids;
+        try {
+            ids = chunkTimer.record(() -> transactionTemplate.execute(status -> sweepChunk(pass.cursor, pass.cutoff)));
+        } catch (RuntimeException exception) {
+            log.error("Failed to sweep invitations after {}", pass.cursor, exception);
+            ids = null;
+        }
+
+        if (ids != null && !ids.isEmpty()) {
+            pass.total += ids.size();
+            pass.cursor = ids.get(ids.size() - 1);
+            swept.increment(ids.size());
+
+            if (ids.size() == chunkSize) {
+                schedule(() -> step(pass), pause);
+                return;
+            }
+        }
+
+        if (pass.total > 0) {
+            log.info("Swept {} invitations ({})", pass.total, mode);
+        }
+        schedule(this::sweep, interval);
+    }
+
+    private List<Long> sweepChunk(long after, Instant cutoff) {
+        var ids = repository.lockSweepableIds(after, cutoff, chunkSize);
+        if (ids.isEmpty()) {
+            return ids;
+        }
+
+        if (mode == Mode.ARCHIVE) {
+            repository.archiveAllByIds(ids);
+        }
+        repository.deleteAllByIds(ids);
+        return ids;
+    }
+
+    private void schedule(Runnable task, Duration delay) {
+        try {
+            scheduler.schedule(task, delay.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException exception) {
+            // The application is shutting down
+            log.debug("Invitation sweep not scheduled", exception);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * The progress of a sweep: the time before which invitations are swept and the last primary key swept.
+     */
+    private static final class Pass {
+        private final Instant cutoff;
+        private long cursor;
+        private long total;
+
+        private Pass(Instant cutoff) {
+            this.cutoff = cutoff;
+        }
+    }
+
+    public enum Mode {
+        /**
+         * The invitations are deleted.
+         */
+        DELETE,
+
+        /**
+         * The invitations are copied to the archive table, then deleted.
+         */
+        ARCHIVE
+    }
+}
@@ -27,25 +27,60 @@ package com.ericafenyo.seniorhub.services;
 
 import com.ericafenyo.seniorhub.EnvironmentVariables;
 import com.ericafenyo.seniorhub.model.Account;
+import com.ericafenyo.seniorhub.util.SecureTokens;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
-import lombok.RequiredArgsConstructor;
+import io.jsonwebtoken.impl.TextCodec;
 import org.springframework.stereotype.Service;
 
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.security.Key;
 import java.time.Duration;
 import java.time.Instant;
-import java.time.temporal.ChronoUnit;
 import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Service
-@RequiredArgsConstructor
 public class JwtAuthenticationService {
     private static final String EMAIL_KEY = "email";
     private static final String ROLE_KEY = "role";
+    private static final String SUBJECT_PREFIX = "auth|";
+    private static final SignatureAlgorithm SIGNATURE_ALGORITHM = SignatureAlgorithm.HS256;
 
-    private final EnvironmentVariables environment;
+    /**
+     * The time during which an access token is accepted after it has been issued.
+     */
+    public static final Duration ACCESS_TOKEN_LIFETIME = Duration.ofHours(24);
+
+    private final Key signingKey;
+    private final JwtParser parser;
+
+    /**
+     * Claims of tokens whose signature has already been verified, keyed by the SHA-256 digest of the token.
+     */
+    private final Cache<ByteBuffer, Claims> verifiedTokens;
+
+    public JwtAuthenticationService(EnvironmentVariables environment) {
+        // Decode the secret once, the same way jjwt does for String keys, instead of on every sign/parse
+        byte[] secret = TextCodec.BASE64.decode(environment.getJwtSecretKey());
+        this.signingKey = new SecretKeySpec(secret, SIGNATURE_ALGORITHM.getJcaName());
+        this.parser = Jwts.parser().setSigningKey(signingKey);
+
+        var maxTtl = Duration.ofSeconds(environment.getJwtCacheTtlSeconds());
+        this.verifiedTokens = Caffeine.newBuilder()
+            .maximumSize(environment.getJwtCacheSize())
+            .expireAfter(new TokenExpiry(maxTtl))
+            .build();
+    }
 
     public <T> T extract(String token, Function<Claims, T> resolver) {
         Claims claims = extract(token);
@@ -53,23 +88,56 @@ public class JwtAuthenticationService {
     }
 
     private Claims extract(String token) {
-        return Jwts.parser()
-            .setSigningKey(environment.getJwtSecretKey())
-            .parseClaimsJws(token)
-            .getBody();
+        return parse(token).orElseThrow(() -> new JwtException("Invalid or expired token"));
+    }
+
+    /**
+     * Returns the verified claims of the given token.
+     * <p>
+     * The signature is checked at most once per token: verified claims are cached until the token expires,
+     * so subsequent requests carrying the same token skip parsing and HMAC verification.
+     *
+     * @param token The compact JWS string.
+     * @return The verified claims, or an empty {@link Optional} if the token is malformed, tampered or expired.
+     */
+    public Optional<Claims> parse(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+
+        var key = digest(token);
+        var claims = verifiedTokens.getIfPresent(key);
+
+        if (claims == null) {
+            try {
+                claims = parser.parseClaimsJws(token).getBody();
+            } catch (JwtException | IllegalArgumentException exception) {
+                return Optional.empty();
+            }
+            verifiedTokens.put(key, claims);
+        }
+
+        // Cached entries can outlive the token by a few milliseconds
+        if (hasExpired(claims.getExpiration())) {
+            verifiedTokens.invalidate(key);
+            return Optional.empty();
+        }
+
+        return Optional.of(claims);
     }
 
     public String sign(Account account) {
         Instant issuedAt = Instant.now();
-        Instant expiration = issuedAt.plus(24, ChronoUnit.HOURS);
+        Instant expiration = issuedAt.plus(ACCESS_TOKEN_LIFETIME);
 
         return Jwts.builder()
+            .setId(UUID.randomUUID().toString())
             .claim(EMAIL_KEY, account.getEmail())
-            .setSubject("auth|%s".formatted(account.getId()))
+            .setSubject(subjectOf(account.getId()))
             .setIssuer("http://localhost/senoir-hub")
             .setIssuedAt(Date.from(issuedAt))
             .setExpiration(Date.from(expiration))
-            .signWith(SignatureAlgorithm.HS256, environment.getJwtSecretKey())
+            .signWith(SIGNATURE_ALGORITHM, signingKey)
             .compact();
     }
 
@@ -81,19 +149,31 @@ public class JwtAuthenticationService {
      * @return true if the token is valid, false otherwise.
      */
     public boolean verify(String token, Account account) {
-        var claims = extract(token);
+        return parse(token)
+            .map(claims -> verify(claims, account))
+            .orElse(false);
+    }
+
+    /**
+     * Checks if already verified claims belong to the given account and are not about to expire.
+     *
+     * @param claims  The verified claims of the token.
+     * @param account The store user account.
+     * @return true if the claims are valid for the account, false otherwise.
+     */
+    public boolean verify(Claims claims, Account account) {
         var expiresAt = claims.getExpiration();
-        var hasEqualUserIds = claims.getSubject().equals("auth|%s".formatted(account.getId()));
+        var hasEqualUserIds = subjectOf(account.getId()).equals(claims.getSubject());
 
-        // Check if the token is blank, expired, or will expire soon
-        boolean invalidToken = !hasEqualUserIds || token.isBlank() || hasExpired(expiresAt) || willExpire(expiresAt, Duration.ofMinutes(1));
+        // Check if the token is expired, or will expire soon
+        boolean invalidToken = !hasEqualUserIds || hasExpired(expiresAt) || willExpire(expiresAt, Duration.ofMinutes(1));
 
         return !invalidToken;
     }
 
 
     private boolean hasExpired(Date expiredAt) {
-        return expiredAt.before(new Date());
+        return expiredAt == null || expiredAt.before(new Date());
     }
 
     /**
@@ -114,4 +194,67 @@ public class JwtAuthenticationService {
     public String extractEmail(String token) {
         return extract(token, (claims -> claims.get(EMAIL_KEY, String.class)));
     }
+
+    public String extractEmail(Claims claims) {
+        return claims.get(EMAIL_KEY, String.class);
+    }
+
+    /**
+     * Builds the account principal from verified claims alone, without looking up the database.
+     * <p>
+     * The returned account carries no password and reflects the state of the user when the token was issued.
+     *
+     * @param claims The verified claims of the token.
+     * @return The account described by the claims, or null if the subject is not a user subject.
+     */
+    public Account toAccount(Claims claims) {
+        var subject = claims.getSubject();
+        if (subject == null || !subject.startsWith(SUBJECT_PREFIX)) {
+            return null;
+        }
+
+        return new Account()
+            .setId(subject.substring(SUBJECT_PREFIX.length()))
+            .setEmail(extractEmail(claims));
+    }
+
+    /**
+     * Returns the token subject identifying the user with the given public id.
+     *
+     * @param userId The public id of the user.
+     * @return The token subject.
+     */
+    public static String subjectOf(String userId) {
+        return SUBJECT_PREFIX + userId;
+    }
+
+    private static ByteBuffer digest(String token) {
+        // Reuses the per-thread SHA-256 digest instead of looking up a provider on every request
+        return ByteBuffer.wrap(SecureTokens.hash(token));
+    }
+
+    /**
+     * Expires cached claims at the token's own expiration time, bounded by a maximum time to live.
+     */
+    private record TokenExpiry(Duration maxTtl) implements Expiry<ByteBuffer, Claims> {
+        @Override
+        public long expireAfterCreate(ByteBuffer key, Claims claims, long currentTime) {
+            var expiration = claims.getExpiration();
+            if (expiration == null) {
+                return 0;
+            }
+            long remaining = Duration.between(Instant.now(), expiration.toInstant()).toNanos();
+            return Math.max(0, Math.min(remaining, maxTtl.toNanos()));
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
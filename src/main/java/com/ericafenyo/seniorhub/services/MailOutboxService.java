@@ -0,0 +1,260 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (C) 2024 Eric Afenyo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.ericafenyo.seniorhub.services;
+
+import com.ericafenyo.seniorhub.EnvironmentVariables;
+import com.ericafenyo.seniorhub.entities.MailOutboxEntity;
+import com.ericafenyo.seniorhub.model.Mail;
+import com.ericafenyo.seniorhub.repository.MailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Queues emails in the database and delivers them in the background.
+ * <p>
+ * {@link #enqueue(Mail)} joins the transaction of the caller, so an email is queued if and only if the
+ * operation producing it commits, and no SMTP round trip happens while the transaction is open. The dispatcher
+ * claims due emails in batches, sends them through {@link MailService#send(Mail)} with a bounded concurrency,
+ * and reschedules failures with an exponential backoff until they are declared dead.
+ * <p>
+ * The dispatcher polls the outbox from a thread of its own rather than from the shared Spring scheduler, so that
+ * slow scheduled jobs such as the invitation sweeper or the summary rebuild never delay the delivery of emails.
+ */
+@Slf4j
+@Service
+public class MailOutboxService {
+    private static final int MAX_ERROR_LENGTH = 1024;
+    private static final EnumSet<MailOutboxEntity.Status> CLAIMABLE =
+        EnumSet.of(MailOutboxEntity.Status.PENDING, MailOutboxEntity.Status.SENDING);
+
+    private final MailOutboxRepository repository;
+    private final MailService mailService;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService executor;
+    private final ScheduledExecutorService dispatcher;
+
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration backoff;
+    private final Duration lease;
+    private final long pollIntervalMillis;
+
+    private final Counter sent;
+    private final Counter failed;
+    private final Counter dead;
+
+    public MailOutboxService(
+        MailOutboxRepository repository,
+        MailService mailService,
+        TransactionTemplate transactionTemplate,
+        EnvironmentVariables environment,
+        MeterRegistry registry
+    ) {
+        this.repository = repository;
+        this.mailService = mailService;
+        this.transactionTemplate = transactionTemplate;
+
+        this.batchSize = environment.getMailOutboxBatchSize();
+        this.maxAttempts = environment.getMailOutboxMaxAttempts();
+        this.backoff = Duration.ofSeconds(environment.getMailOutboxBackoffSeconds());
+        this.lease = Duration.ofSeconds(environment.getMailOutboxLeaseSeconds());
+        this.pollIntervalMillis = environment.getMailOutboxPollIntervalMillis();
+
+        var threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(environment.getMailOutboxConcurrency(), runnable -> {
+            var thread = new Thread(runnable, "mail-outbox-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.dispatcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "mail-outbox-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.sent = registry.counter("mail.outbox.sent");
+        this.failed = registry.counter("mail.outbox.failed");
+        this.dead = registry.counter("mail.outbox.dead");
+    }
+
+    /**
+     * Queues an email for delivery, as part of the current transaction.
+     *
+     * @param mail The email to send.
+     */
+    @Transactional
+    public void enqueue(Mail mail) {
+        repository.save(toEntity(mail));
+    }
+
+    /**
+     * Queues several emails for delivery, as part of the current transaction.
+     *
+     * @param mails The emails to send.
+     */
+    @Transactional
+    public void enqueueAll(List<Mail> mails) {
+        var entities = new ArrayList<MailOutboxEntity>(mails.size());
+        for (Mail mail : mails) {
+            entities.add(toEntity(mail));
+        }
+        repository.saveAll(entities);
+    }
+
+    private static MailOutboxEntity toEntity(Mail mail) {
+        return new MailOutboxEntity()
+            .setSender(mail.getSender())
+            .setRecipient(mail.getRecipient())
+            .setCc(mail.getCc())
+            .setBcc(mail.getBcc())
+            .setSubject(mail.getSubject())
+            .setBody(mail.getBody())
+            .setNextAttemptAt(Instant.now());
+    }
+
+    /**
+     * Starts polling the outbox once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        dispatcher.scheduleWithFixedDelay(this::poll, pollIntervalMillis, pollIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void poll() {
+        // An exception escaping a periodic task would cancel all its later runs
+        try {
+            dispatch();
+        } catch (RuntimeException exception) {
+            log.error("Failed to dispatch the mail outbox", exception);
+        }
+    }
+
+    /**
+     * Delivers the emails that are due, batch after batch, until the outbox has been drained.
+     */
+    public void dispatch() {
+        List<MailOutboxEntity> batch;
+        do {
+            batch = claim();
+
+            var deliveries = new ArrayList<CompletableFuture<Void>>(batch.size());
+            for (MailOutboxEntity entity : batch) {
+                deliveries.add(CompletableFuture.runAsync(() -> deliver(entity), executor));
+            }
+            CompletableFuture.allOf(deliveries.toArray(CompletableFuture[]::new)).join();
+        } while (batch.size() == batchSize);
+    }
+
+    /**
+     * Claims a batch of due emails.
+     * <p>
+     * Claimed emails are leased for a while: if this node dies before reporting the outcome, another dispatcher
+     * picks them up again once the lease has expired.
+     */
+    private List<MailOutboxEntity> claim() {
+        return transactionTemplate.execute(status -> {
+            var now = Instant.now();
+            var batch = repository.findDue(CLAIMABLE, now, Limit.of(batchSize));
+            for (MailOutboxEntity entity : batch) {
+                entity.setStatus(MailOutboxEntity.Status.SENDING)
+                    .setAttempts(entity.getAttempts() + 1)
+                    .setNextAttemptAt(now.plus(lease));
+            }
+            return batch;
+        });
+    }
+
+    private void deliver(MailOutboxEntity entity) {
+        try {
+            mailService.send(toMail(entity));
+        } catch (RuntimeException exception) {
+            reschedule(entity, exception);
+            return;
+        }
+
+        transactionTemplate.executeWithoutResult(status -> repository.delete(entity));
+        sent.increment();
+    }
+
+    private void reschedule(MailOutboxEntity entity, RuntimeException exception) {
+        entity.setLastError(truncate(String.valueOf(exception.getMessage())));
+
+        if (entity.getAttempts() >= maxAttempts) {
+            log.error("Giving up on email {} after {} attempts", entity.getId(), entity.getAttempts(), exception);
+            entity.setStatus(MailOutboxEntity.Status.DEAD);
+            dead.increment();
+        } else {
+            // Exponential backoff: backoff, 2 * backoff, 4 * backoff...
+            var delay = backoff.multipliedBy(1L << Math.min(entity.getAttempts() - 1, 20));
+            log.warn("Failed to send email {}, retrying in {}", entity.getId(), delay, exception);
+            entity.setStatus(MailOutboxEntity.Status.PENDING)
+                .setNextAttemptAt(Instant.now().plus(delay));
+            failed.increment();
+        }
+
+        transactionTemplate.executeWithoutResult(status -> repository.save(entity));
+    }
+
+    private static Mail toMail(MailOutboxEntity entity) {
+        return Mail.builder()
+            .sender(entity.getSender())
+            .recipient(entity.getRecipient())
+            .cc(entity.getCc())
+            .bcc(entity.getBcc())
+            .subject(entity.getSubject())
+            .body(entity.getBody())
+            .build();
+    }
+
+    private static String truncate(String text) {
+        return text.length() <= MAX_ERROR_LENGTH ? text : text.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    @PreDestroy
+    public void close() {
+        dispatcher.shutdownNow();
+        executor.shutdownNow();
+    }
+}
@@ -35,5 +35,12 @@ public interface MailService {
 
   Tuple<Report, String> sendVerificationCode(String email);
 
-  Report sendInvitation(String email, Context context);
+  /**
+   * Builds the invitation email for the given recipient, without sending it.
+   *
+   * @param email   The email address of the invitee.
+   * @param context The values referenced by the invitation template.
+   * @return The invitation email.
+   */
+  Mail composeInvitation(String email, Context context);
 }
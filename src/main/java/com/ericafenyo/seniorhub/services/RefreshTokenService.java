@@ -0,0 +1,155 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (C) 2024 Eric Afenyo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.ericafenyo.seniorhub.services;
+
+import com.ericafenyo.seniorhub.EnvironmentVariables;
+import com.ericafenyo.seniorhub.entities.RefreshTokenEntity;
+import com.ericafenyo.seniorhub.exceptions.HttpException;
+import com.ericafenyo.seniorhub.exceptions.account.InvalidRefreshTokenException;
+import com.ericafenyo.seniorhub.model.Account;
+import com.ericafenyo.seniorhub.model.Tokens;
+import com.ericafenyo.seniorhub.repository.RefreshTokenRepository;
+import com.ericafenyo.seniorhub.util.SecureTokens;
+import jakarta.transaction.Transactional;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Issues and rotates the refresh tokens used to renew access tokens without asking for the password again.
+ * <p>
+ * Refresh tokens are opaque random strings, only their hash is stored. A token can be exchanged once: the
+ * exchange consumes it and issues a new token of the same family. Presenting a consumed token again means it
+ * has leaked, the whole family is then revoked and the user has to log in again.
+ */
+@Service
+public class RefreshTokenService {
+    private final RefreshTokenRepository repository;
+    private final JwtAuthenticationService jwtAuthenticationService;
+    private final AccountService accountService;
+    private final Duration lifetime;
+
+    public RefreshTokenService(
+        RefreshTokenRepository repository,
+        JwtAuthenticationService jwtAuthenticationService,
+        AccountService accountService,
+        EnvironmentVariables environment
+    ) {
+        this.repository = repository;
+        this.jwtAuthenticationService = jwtAuthenticationService;
+        this.accountService = accountService;
+        this.lifetime = Duration.ofSeconds(environment.getRefreshTokenLifetimeSeconds());
+    }
+
+    /**
+     * Issues a pair of tokens for an account that has just been authenticated, starting a new token family.
+     *
+     * @param account The authenticated account.
+     * @return The access token and the refresh token.
+     */
+    @Transactional
+    public Tokens issue(Account account) {
+        return issue(account, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Exchanges a refresh token for a new pair of tokens.
+     *
+     * @param token The refresh token presented by the client.
+     * @return The new access token and refresh token.
+     * @throws HttpException If the token is unknown, expired, revoked or has already been used.
+     */
+    @Transactional
+    public Tokens refresh(String token) throws HttpException {
+        var entity = repository.findByTokenHash(SecureTokens.hash(token))
+            .orElseThrow(InvalidRefreshTokenException::new);
+
+        var now = Instant.now();
+        if (entity.getRevokedAt() != null || !entity.getExpiresAt().isAfter(now)) {
+            throw new InvalidRefreshTokenException();
+        }
+
+        // Consume the token atomically, a concurrent exchange of the same token loses here
+        if (repository.markUsed(entity.getId(), now) == 0) {
+            // The token has already been exchanged, it is being replayed. Revoke every token derived from it.
+            // The exception is checked, so the revocation is committed.
+            repository.revokeFamily(entity.getFamily(), now);
+            throw new InvalidRefreshTokenException();
+        }
+
+        Account account;
+        try {
+            account = accountService.getAccountById(entity.getUserId());
+        } catch (UsernameNotFoundException exception) {
+            throw new InvalidRefreshTokenException();
+        }
+
+        return issue(account, entity.getFamily());
+    }
+
+    /**
+     * Removes all refresh tokens of the given user.
+     *
+     * @param userId The public id of the user.
+     */
+    @Transactional
+    public void revokeUser(String userId) {
+        repository.deleteAllByUserId(userId);
+    }
+
+    /**
+     * Deletes the refresh tokens that have expired.
+     */
+    @Transactional
+    @Scheduled(
+        initialDelayString = "${seniorhub.env.refresh-token-cleanup-interval-seconds}",
+        fixedDelayString = "${seniorhub.env.refresh-token-cleanup-interval-seconds}",
+        timeUnit = TimeUnit.SECONDS
+    )
+    public void deleteExpired() {
+        repository.deleteAllByExpiresAtBefore(Instant.now());
+    }
+
+    private Tokens issue(Account account, String family) {
+        var token = SecureTokens.generate();
+
+        var entity = new RefreshTokenEntity()
+            .setTokenHash(SecureTokens.hash(token))
+            .setFamily(family)
+            .setUserId(account.getId())
+            .setExpiresAt(Instant.now().plus(lifetime));
+        repository.save(entity);
+
+        return Tokens.builder()
+            .accessToken(jwtAuthenticationService.sign(account))
+            .refreshToken(token)
+            .build();
+    }
+}
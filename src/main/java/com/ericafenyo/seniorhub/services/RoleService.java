@@ -24,16 +24,19 @@
 
 package com.ericafenyo.seniorhub.services;
 
+import com.ericafenyo.seniorhub.api.CursorPage;
+import com.ericafenyo.seniorhub.exceptions.HttpException;
 import com.ericafenyo.seniorhub.model.Role;
 
-import java.util.List;
-
 /**
  * An interface that defines a contract for user role-related operations.
  */
 public interface RoleService {
     /**
-     * Returns a list of user roles.
+     * Returns a page of user roles.
+     *
+     * @param cursor The cursor returned with the previous page, or null for the first page.
+     * @param limit  The maximum number of roles to return.
      */
-    List<Role> getRoles();
+    CursorPage<Role> getRoles(String cursor, int limit) throws HttpException;
 }
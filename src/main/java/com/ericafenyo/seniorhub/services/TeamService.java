@@ -24,24 +24,31 @@
 
 package com.ericafenyo.seniorhub.services;
 
+import com.ericafenyo.seniorhub.api.CursorPage;
 import com.ericafenyo.seniorhub.contexts.CreateTaskContext;
+import com.ericafenyo.seniorhub.contexts.ListTasksContext;
 import com.ericafenyo.seniorhub.dto.CreateTeamRequest;
+import com.ericafenyo.seniorhub.dto.InvitationRequest;
 import com.ericafenyo.seniorhub.dto.UpdateTeamRequest;
 import com.ericafenyo.seniorhub.exceptions.HttpException;
 import com.ericafenyo.seniorhub.model.Invitation;
+import com.ericafenyo.seniorhub.model.InvitationResult;
 import com.ericafenyo.seniorhub.model.Report;
 import com.ericafenyo.seniorhub.model.Task;
 import com.ericafenyo.seniorhub.model.Team;
+import com.ericafenyo.seniorhub.model.TeamSummary;
 
 import java.util.List;
 
 public interface TeamService {
     Team createTeam(CreateTeamRequest request, String creatorId) throws HttpException;
 
-    List<Team> getTeams();
+    CursorPage<Team> getTeams(String cursor, int limit) throws HttpException;
 
     Team getTeamById(String id) throws HttpException;
 
+    TeamSummary getTeamSummary(String id) throws HttpException;
+
     Team updateTeam(String id, UpdateTeamRequest userUpdateDto);
 
     void deleteTeam(String id);
@@ -50,7 +57,11 @@ public interface TeamService {
 
     Report invite(String teamId, String inviterId, String role, String email) throws HttpException;
 
+    List<InvitationResult> inviteAll(String teamId, String inviterId, List<InvitationRequest> requests) throws HttpException;
+
     Invitation validateInvitation(String teamId);
 
     Task createTask(CreateTaskContext context) throws HttpException;
+
+    CursorPage<Task> getTasks(ListTasksContext context) throws HttpException;
 }
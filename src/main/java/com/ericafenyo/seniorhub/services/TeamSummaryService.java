@@ -0,0 +1,136 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (C) 2024 Eric Afenyo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.ericafenyo.seniorhub.services;
+
+import com.ericafenyo.seniorhub.EnvironmentVariables;
+import com.ericafenyo.seniorhub.mapper.TeamSummaryMapper;
+import com.ericafenyo.seniorhub.model.TeamSummary;
+import com.ericafenyo.seniorhub.repository.TeamRepository;
+import com.ericafenyo.seniorhub.repository.TeamSummaryRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads the team summaries, and periodically recomputes them from scratch.
+ * <p>
+ * The stored counters are kept up to date by {@link TeamSummaryTracker}. The rebuild corrects any drift left by
+ * changes the tracker does not see, such as rows changed by hand. Teams are rebuilt in chunks, one short transaction
+ * per chunk. The figures depending on the current time are counted on each read instead, with queries served by the
+ * indexes on the team and date columns.
+ */
+@Slf4j
+@Service
+public class TeamSummaryService {
+    private final TeamSummaryRepository repository;
+    private final TeamRepository teamRepository;
+    private final TeamSummaryMapper mapper;
+    private final TransactionTemplate transactionTemplate;
+
+    private final int chunkSize;
+
+    private final Timer chunkTimer;
+
+    public TeamSummaryService(
+        TeamSummaryRepository repository,
+        TeamRepository teamRepository,
+        TeamSummaryMapper mapper,
+        TransactionTemplate transactionTemplate,
+        EnvironmentVariables environment,
+        MeterRegistry registry
+    ) {
+        this.repository = repository;
+        this.teamRepository = teamRepository;
+        this.mapper = mapper;
+        this.transactionTemplate = transactionTemplate;
+
+        this.chunkSize = environment.getTeamSummaryRebuildChunkSize();
+
+        this.chunkTimer = Timer.builder("team.summaries.rebuild.chunk")
+            .description("Time spent rebuilding a chunk of team summaries")
+            .register(registry);
+    }
+
+    /**
+     * Returns the summary of a team, building it first if the team has none yet.
+     *
+     * @param teamId The primary key of the team.
+     * @return The summary of the team.
+     */
+    public TeamSummary getSummary(Long teamId) {
+        var entity = repository.findById(teamId).orElseGet(() -> {
+            rebuild(List.of(teamId));
+            return repository.findById(teamId).orElseThrow();
+        });
+
+        var now = LocalDateTime.now();
+        return mapper.apply(entity)
+            .setOverdueTasks(repository.countOverdueTasks(teamId, now.toLocalDate()))
+            .setUpcomingAppointments(repository.countUpcomingAppointments(teamId, now))
+            .setActiveMedications(repository.countActiveMedications(teamId, now));
+    }
+
+    @Scheduled(
+        initialDelayString = "${seniorhub.env.team-summary-rebuild-interval-seconds}",
+        fixedDelayString = "${seniorhub.env.team-summary-rebuild-interval-seconds}",
+        timeUnit = TimeUnit.SECONDS
+    )
+    public void rebuildAll() {
+        long cursor = 0;
+        long total = 0;
+        while (true) {
+            List<Long> ids = teamRepository.findIdsAfter(cursor, Limit.of(chunkSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+
+            chunkTimer.record(() -> rebuild(ids));
+            total += ids.size();
+            cursor = ids.get(ids.size() - 1);
+
+            if (ids.size() < chunkSize) {
+                break;
+            }
+        }
+
+        log.info("Rebuilt the summaries of {} teams", total);
+    }
+
+    private void rebuild(Collection<Long> teamIds) {
+        transactionTemplate.executeWithoutResult(status ->
+            repository.rebuild(teamIds, Instant.now())
+        );
+    }
+}
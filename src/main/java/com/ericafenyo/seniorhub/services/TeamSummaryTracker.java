@@ -0,0 +1,276 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (C) 2024 Eric Afenyo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.ericafenyo.seniorhub.services;
+
+import com.ericafenyo.seniorhub.entities.TaskEntity;
+import com.ericafenyo.seniorhub.entities.TeamEntity;
+import com.ericafenyo.seniorhub.model.Priority;
+import com.ericafenyo.seniorhub.model.Task;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the team summaries up to date as the counted rows change.
+ * <p>
+ * Hibernate notifies the tracker of the tasks inserted, updated or deleted whenever a session flushes. The changes
+ * are accumulated into per-team deltas, which are added to the summaries right before the transaction commits, with
+ * one statement per team. Memberships are inserted with native queries that Hibernate does not see, so they are
+ * reported with {@link #memberAdded(Long)}.
+ */
+@Slf4j
+@Component
+public class TeamSummaryTracker implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+    private static final int MEMBERS = 0;
+    private static final int PLANNED = 1;
+    private static final int STARTED = 2;
+    private static final int COMPLETED = 3;
+    private static final int BLOCKED = 4;
+    private static final int LOW = 5;
+    private static final int MEDIUM = 6;
+    private static final int HIGH = 7;
+    private static final int URGENT = 8;
+
+    /**
+     * The counter columns, in the order of the indexes above.
+     */
+    private static final String[] COLUMNS = {
+        "member_count", "tasks_planned", "tasks_started", "tasks_completed", "tasks_blocked",
+        "tasks_low", "tasks_medium", "tasks_high", "tasks_urgent"
+    };
+
+    private static final String UPDATE_SQL = "UPDATE team_summaries SET "
+        + Arrays.stream(COLUMNS).map(column -> column + " = " + column + " + ?").collect(Collectors.joining(", "))
+        + ", updated_at = ? WHERE team_id = ?";
+
+    private static final String INSERT_SQL = "INSERT INTO team_summaries ("
+        + String.join(", ", COLUMNS) + ", updated_at, team_id) VALUES ("
+        + "?, ".repeat(COLUMNS.length) + "?, ?)";
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final EntityManager entityManager;
+
+    /**
+     * The deltas of the sessions with a transaction in progress, ordered by team so that the summary rows are
+     * always locked in the same order.
+     */
+    private final Map<SessionImplementor, SortedMap<Long, Delta>> pending = new ConcurrentHashMap<>();
+
+    public TeamSummaryTracker(EntityManagerFactory entityManagerFactory, EntityManager entityManager) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.entityManager = entityManager;
+    }
+
+    @PostConstruct
+    void register() {
+        var registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+            .getServiceRegistry()
+            .getService(EventListenerRegistry.class);
+
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    /**
+     * Counts a member added to a team. Must be called within the transaction adding the member.
+     *
+     * @param teamId The primary key of the team.
+     */
+    public void memberAdded(Long teamId) {
+        deltaOf(entityManager.unwrap(SessionImplementor.class), teamId).counts[MEMBERS]++;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof TeamEntity) {
+            deltaOf(event.getSession(), (Long) event.getId()).created = true;
+            return;
+        }
+        count(event.getSession(), event.getPersister(), event.getState(), 1);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getOldState() == null) {
+            // Only happens for detached entities updated without being loaded, the rebuild catches up
+            log.debug("Previous state of {} {} unknown", event.getPersister().getEntityName(), event.getId());
+            return;
+        }
+        count(event.getSession(), event.getPersister(), event.getOldState(), -1);
+        count(event.getSession(), event.getPersister(), event.getState(), 1);
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        count(event.getSession(), event.getPersister(), event.getDeletedState(), -1);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private void count(SessionImplementor session, EntityPersister persister, Object[] state, int sign) {
+        if (persister.getMappedClass() != TaskEntity.class) {
+            return;
+        }
+
+        var team = (TeamEntity) valueOf(persister, state, "team");
+        if (team == null) {
+            return;
+        }
+
+        var counts = deltaOf(session, team.getId()).counts;
+        var status = (Task.Status) valueOf(persister, state, "status");
+        var priority = (Priority) valueOf(persister, state, "priority");
+
+        if (status != null) {
+            counts[indexOf(status)] += sign;
+        }
+        if (priority != null) {
+            counts[indexOf(priority)] += sign;
+        }
+    }
+
+    private Delta deltaOf(SessionImplementor session, Long teamId) {
+        return pending.computeIfAbsent(session, this::track).computeIfAbsent(teamId, id -> new Delta());
+    }
+
+    /**
+     * Starts accumulating the deltas of a session, until its transaction completes.
+     */
+    private SortedMap<Long, Delta> track(SessionImplementor session) {
+        var deltas = new TreeMap<Long, Delta>();
+        var actionQueue = session.getActionQueue();
+        actionQueue.registerProcess((BeforeTransactionCompletionProcess) completing -> apply(completing, deltas));
+        actionQueue.registerProcess(
+            (AfterTransactionCompletionProcess) (success, completed) -> pending.remove(session)
+        );
+        return deltas;
+    }
+
+    private void apply(SessionImplementor session, SortedMap<Long, Delta> deltas) {
+        var now = Timestamp.from(Instant.now());
+        session.doWork(connection -> {
+            for (var entry : deltas.entrySet()) {
+                var delta = entry.getValue();
+                if (delta.created) {
+                    execute(connection, INSERT_SQL, entry.getKey(), delta, now);
+                } else if (!delta.isEmpty() && execute(connection, UPDATE_SQL, entry.getKey(), delta, now) == 0) {
+                    log.debug("No summary for team {}, left to the rebuild", entry.getKey());
+                }
+            }
+        });
+    }
+
+    private static int execute(
+        Connection connection,
+        String sql,
+        Long teamId,
+        Delta delta,
+        Timestamp now
+    ) throws SQLException {
+        try (var statement = connection.prepareStatement(sql)) {
+            int index = 1;
+            for (long count : delta.counts) {
+                statement.setLong(index++, count);
+            }
+            statement.setTimestamp(index++, now);
+            statement.setLong(index, teamId);
+            return statement.executeUpdate();
+        }
+    }
+
+    private static Object valueOf(EntityPersister persister, Object[] state, String property) {
+        var names = persister.getPropertyNames();
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(property)) {
+                return state[i];
+            }
+        }
+        throw new IllegalArgumentException("No property " + property + " in " + persister.getEntityName());
+    }
+
+    private static int indexOf(Task.Status status) {
+        return switch (status) {
+            case PLANNED -> PLANNED;
+            case STARTED -> STARTED;
+            case COMPLETED -> COMPLETED;
+            case BLOCKED -> BLOCKED;
+        };
+    }
+
+    private static int indexOf(Priority priority) {
+        return switch (priority) {
+            case LOW -> LOW;
+            case MEDIUM -> MEDIUM;
+            case HIGH -> HIGH;
+            case URGENT -> URGENT;
+        };
+    }
+
+    /**
+     * The changes to the counters of a team within a transaction.
+     */
+    private static final class Delta {
+        private final long[] counts = new long[COLUMNS.length];
+
+        /**
+         * Whether the team has been created in the transaction, in which case its summary must be inserted.
+         */
+        private boolean created;
+
+        boolean isEmpty() {
+            return Arrays.stream(counts).allMatch(count -> count == 0);
+        }
+    }
+}
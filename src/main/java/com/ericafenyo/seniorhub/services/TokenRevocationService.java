@@ -0,0 +1,238 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (C) 2024 Eric Afenyo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.ericafenyo.seniorhub.services;
+
+import com.ericafenyo.seniorhub.EnvironmentVariables;
+import com.ericafenyo.seniorhub.entities.RevokedSubjectEntity;
+import com.ericafenyo.seniorhub.entities.RevokedTokenEntity;
+import com.ericafenyo.seniorhub.repository.RevokedSubjectRepository;
+import com.ericafenyo.seniorhub.repository.RevokedTokenRepository;
+import com.ericafenyo.seniorhub.util.MappedBloomFilter;
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Keeps track of access tokens that must no longer be accepted even though their signature is valid.
+ * <p>
+ * Individual tokens are revoked by their id (jti claim). Revoking a user rejects every token issued to that user up
+ * to the time of revocation, keyed by the subject of the tokens. Both kinds of revocations are stored in the
+ * database, so they survive restarts and apply on every node, and kept only as long as a revoked token could still
+ * be alive.
+ * <p>
+ * Revoked ids and subjects are mirrored in a memory-mapped Bloom filter, so that checking a token that was never
+ * revoked costs no database query. Only tokens hitting the filter are confirmed against the database. Revocations
+ * made by other nodes are added to the filter every {@code revocation-sync-interval-seconds}: this is the longest
+ * time a token revoked elsewhere is still accepted by this node. Expired revocations are compacted away
+ * periodically, when the filter is rebuilt from scratch.
+ */
+@Service
+public class TokenRevocationService {
+    /**
+     * The time reloaded before the last synchronization, covering revocations committed late or stamped by a node
+     * whose clock is behind.
+     */
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+
+    private final RevokedTokenRepository repository;
+    private final RevokedSubjectRepository subjectRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MappedBloomFilter revocations;
+
+    /**
+     * The time of the last synchronization with the database, revocations made since are loaded by the next one.
+     */
+    private volatile Instant syncedAt = Instant.EPOCH;
+
+    public TokenRevocationService(
+        RevokedTokenRepository repository,
+        RevokedSubjectRepository subjectRepository,
+        TransactionTemplate transactionTemplate,
+        EnvironmentVariables environment
+    ) {
+        this.repository = repository;
+        this.subjectRepository = subjectRepository;
+        this.transactionTemplate = transactionTemplate;
+
+        var path = Path.of(environment.getRevocationFilterPath());
+        try {
+            this.revocations = MappedBloomFilter.open(
+                path,
+                environment.getRevocationFilterSize(),
+                environment.getRevocationFilterHashes()
+            );
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Failed to open the token revocation filter at " + path, exception);
+        }
+    }
+
+    /**
+     * Revokes all tokens issued to the given user until now.
+     *
+     * @param userId The public id of the user.
+     */
+    public void revokeUser(String userId) {
+        var subject = JwtAuthenticationService.subjectOf(userId);
+        var revokedAt = Instant.now();
+
+        var entity = new RevokedSubjectEntity()
+            .setSubject(subject)
+            .setRevokedAt(revokedAt)
+            .setExpiresAt(revokedAt.plus(JwtAuthenticationService.ACCESS_TOKEN_LIFETIME));
+
+        // Store the revocation before publishing it, so a filter hit can always be confirmed
+        subjectRepository.save(entity);
+        revocations.put(subject);
+    }
+
+    /**
+     * Revokes the token carrying the given verified claims.
+     *
+     * @param claims The verified claims of the token.
+     */
+    public void revoke(Claims claims) {
+        var id = claims.getId();
+        if (id == null) {
+            return;
+        }
+
+        var entity = new RevokedTokenEntity()
+            .setId(id)
+            .setExpiresAt(claims.getExpiration().toInstant());
+
+        // Store the revocation before publishing it, so a filter hit can always be confirmed
+        repository.save(entity);
+        revocations.put(id);
+    }
+
+    /**
+     * Checks if the token carrying the given verified claims has been revoked.
+     *
+     * @param claims The verified claims of the token.
+     * @return true if the token must be rejected, false otherwise.
+     */
+    public boolean isRevoked(Claims claims) {
+        if (isSubjectRevoked(claims)) {
+            return true;
+        }
+
+        var id = claims.getId();
+        return id != null && revocations.mightContain(id) && repository.existsById(id);
+    }
+
+    private boolean isSubjectRevoked(Claims claims) {
+        var subject = claims.getSubject();
+        if (subject == null || !revocations.mightContain(subject)) {
+            return false;
+        }
+
+        var revokedAt = subjectRepository.findRevokedAt(subject);
+        if (revokedAt.isEmpty()) {
+            return false;
+        }
+
+        var issuedAt = claims.getIssuedAt();
+        return issuedAt == null || !issuedAt.toInstant().isAfter(revokedAt.get());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        // A missing or resized filter file starts empty, fill it from the stored revocations
+        if (revocations.isCreated()) {
+            rebuild();
+        } else {
+            // The file misses the revocations made by other nodes while this one was down
+            sync();
+        }
+    }
+
+    /**
+     * Deletes revocations of tokens that have expired and rebuilds the filter from the remaining ones.
+     */
+    @Scheduled(
+        initialDelayString = "${seniorhub.env.revocation-compaction-interval-seconds}",
+        fixedDelayString = "${seniorhub.env.revocation-compaction-interval-seconds}",
+        timeUnit = TimeUnit.SECONDS
+    )
+    public void compact() {
+        transactionTemplate.executeWithoutResult(status -> {
+            var now = Instant.now();
+            repository.deleteAllByExpiresAtBefore(now);
+            subjectRepository.deleteAllByExpiresAtBefore(now);
+        });
+        rebuild();
+    }
+
+    /**
+     * Adds the revocations made since the last synchronization, including those made by other nodes, to the filter.
+     */
+    @Scheduled(
+        initialDelayString = "${seniorhub.env.revocation-sync-interval-seconds}",
+        fixedDelayString = "${seniorhub.env.revocation-sync-interval-seconds}",
+        timeUnit = TimeUnit.SECONDS
+    )
+    public void sync() {
+        var now = Instant.now();
+        var since = syncedAt.minus(SYNC_OVERLAP);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            try (var ids = repository.streamIdsCreatedAfter(since)) {
+                ids.forEach(revocations::put);
+            }
+            try (var subjects = subjectRepository.streamSubjectsRevokedAfter(since)) {
+                subjects.forEach(revocations::put);
+            }
+        });
+        syncedAt = now;
+    }
+
+    private void rebuild() {
+        // Hold the filter while reading the revocations, a concurrent revocation is then published after the rebuild
+        synchronized (revocations) {
+            transactionTemplate.executeWithoutResult(status -> {
+                try (var ids = repository.streamIds(); var subjects = subjectRepository.streamSubjects()) {
+                    revocations.rebuild(Stream.concat(ids, subjects).iterator());
+                }
+            });
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        revocations.close();
+    }
+}
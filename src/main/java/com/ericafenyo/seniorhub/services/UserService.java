@@ -24,6 +24,7 @@
 
 package com.ericafenyo.seniorhub.services;
 
+import com.ericafenyo.seniorhub.api.CursorPage;
 import com.ericafenyo.seniorhub.dto.CreateTeamRequest;
 import com.ericafenyo.seniorhub.dto.CreateUserRequest;
 import com.ericafenyo.seniorhub.dto.UserUpdateDto;
@@ -35,7 +36,7 @@ import java.util.List;
 
 
 public interface UserService {
-    List<User> getUsers();
+    CursorPage<User> getUsers(String cursor, int limit) throws HttpException;
 
     User getUserById(String id) throws HttpException;
 
@@ -27,8 +27,6 @@ package com.ericafenyo.seniorhub.util;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
-import java.util.Formatter;
-import java.util.UUID;
 
 public class Hashing {
   public static String sha256(String text) {
@@ -41,17 +39,7 @@ public class Hashing {
     }
   }
 
-  public static String randomSHA256() {
-    return sha256(UUID.randomUUID().toString());
-  }
-
   private static String toHexString(byte[] bytes) {
-    Formatter result = new Formatter();
-    try (result) {
-      for (var b : bytes) {
-        result.format("%02x", b & 0xff);
-      }
-      return result.toString();
-    }
+    return Encodings.toHex(bytes);
   }
 }
@@ -31,6 +31,10 @@ import java.time.Instant;
  * Utility class for handling date and time operations.
  */
 public class Invitations {
+    /**
+     * The time before its expiration from which an invitation is already considered expired.
+     */
+    public static final Duration EXPIRY_MARGIN = Duration.ofMinutes(1);
 
     /**
      * Checks if the given expiration time is before a calculated minimum expiration time.
@@ -63,6 +67,6 @@ public class Invitations {
      * @return true if the time has expired or will expire in a minute, false otherwise.
      */
     public static boolean hasExpired(Instant expiration) {
-        return isPassed(expiration) || willExpire(expiration, Duration.ofMinutes(1));
+        return isPassed(expiration) || willExpire(expiration, EXPIRY_MARGIN);
     }
 }
@@ -0,0 +1,205 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (C) 2024 Eric Afenyo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.ericafenyo.seniorhub.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+
+/**
+ * A Bloom filter whose bit array is memory-mapped from a file, so that its content survives restarts.
+ * <p>
+ * Lookups are lock-free and do not allocate. Insertions are serialized. Elements cannot be removed, the filter
+ * is instead {@link #rebuild(Iterator) rebuilt} from the elements that are still relevant.
+ */
+public class MappedBloomFilter implements Closeable {
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final long size;
+    private final int hashes;
+    private final boolean created;
+
+    private MappedBloomFilter(FileChannel channel, MappedByteBuffer buffer, long size, int hashes, boolean created) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.size = size;
+        this.hashes = hashes;
+        this.created = created;
+    }
+
+    /**
+     * Opens the filter stored at the given path, creating an empty one if the file does not exist or does not
+     * match the requested size.
+     *
+     * @param path   The file backing the bit array.
+     * @param size   The number of bits of the filter, rounded up to a multiple of 8.
+     * @param hashes The number of hash functions applied to each element.
+     * @return The opened filter.
+     * @throws IOException If the file cannot be created or mapped.
+     */
+    public static MappedBloomFilter open(Path path, long size, int hashes) throws IOException {
+        long bytes = (size + 7) >>> 3;
+        if (bytes <= 0 || bytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid Bloom filter size: " + size);
+        }
+        if (hashes <= 0) {
+            throw new IllegalArgumentException("Invalid number of hash functions: " + hashes);
+        }
+
+        var parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        boolean created = !Files.exists(path) || Files.size(path) != bytes;
+        var channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (created) {
+            channel.truncate(0);
+        }
+
+        var buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes);
+        return new MappedBloomFilter(channel, buffer, bytes << 3, hashes, created);
+    }
+
+    /**
+     * Returns whether the file backing the filter was (re)created when the filter was opened, in which case the
+     * filter is empty and should be rebuilt.
+     */
+    public boolean isCreated() {
+        return created;
+    }
+
+    /**
+     * Checks if the given value might have been added to the filter.
+     *
+     * @param value The value to look up.
+     * @return false if the value has definitely not been added, true if it might have been.
+     */
+    public boolean mightContain(CharSequence value) {
+        long h1 = hash(value);
+        long h2 = secondaryHash(value);
+
+        for (int i = 0; i < hashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, size);
+            if ((buffer.get((int) (bit >>> 3)) & (1 << (bit & 7))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Adds the given value to the filter.
+     *
+     * @param value The value to add.
+     */
+    public synchronized void put(CharSequence value) {
+        long h1 = hash(value);
+        long h2 = secondaryHash(value);
+
+        for (int i = 0; i < hashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, size);
+            int index = (int) (bit >>> 3);
+            buffer.put(index, (byte) (buffer.get(index) | (1 << (bit & 7))));
+        }
+    }
+
+    /**
+     * Replaces the content of the filter with the given values.
+     * <p>
+     * The new bit array is computed off to the side and copied over the mapped one, so concurrent lookups of
+     * values present before and after the rebuild never see them missing.
+     *
+     * @param values The values the filter should contain.
+     */
+    public synchronized void rebuild(Iterator<? extends CharSequence> values) {
+        var bits = new byte[buffer.capacity()];
+
+        while (values.hasNext()) {
+            var value = values.next();
+            long h1 = hash(value);
+            long h2 = secondaryHash(value);
+
+            for (int i = 0; i < hashes; i++) {
+                long bit = Math.floorMod(h1 + i * h2, size);
+                bits[(int) (bit >>> 3)] |= (byte) (1 << (bit & 7));
+            }
+        }
+
+        buffer.put(0, bits);
+        buffer.force();
+    }
+
+    /**
+     * Writes pending changes of the bit array to the backing file.
+     */
+    public void flush() {
+        buffer.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        channel.close();
+    }
+
+    /**
+     * FNV-1a over the UTF-16 code units of the value.
+     */
+    private static long hash(CharSequence value) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * A polynomial hash finalized with the MurmurHash3 mixer, forced odd so that probes cover the whole filter.
+     */
+    private static long secondaryHash(CharSequence value) {
+        long hash = value.length();
+        for (int i = 0; i < value.length(); i++) {
+            hash = hash * GOLDEN_GAMMA + value.charAt(i);
+        }
+
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash | 1;
+    }
+}
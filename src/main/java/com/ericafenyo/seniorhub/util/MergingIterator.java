@@ -0,0 +1,88 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (C) 2024 Eric Afenyo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.ericafenyo.seniorhub.util;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * Merges sorted iterators into a single sorted iterator.
+ * <p>
+ * A priority queue holds the next element of each source, so that each element is produced with log(k) comparisons
+ * for k sources, and only one element per source is held at a time. The sources are only read as the merged
+ * elements are consumed.
+ *
+ * @param <T> The type of the elements.
+ */
+public class MergingIterator<T> implements Iterator<T> {
+    private final PriorityQueue<Head<T>> heads;
+
+    /**
+     * @param sources    The iterators to merge, each sorted according to the comparator.
+     * @param comparator The order of the elements.
+     */
+    public MergingIterator(Collection<? extends Iterator<? extends T>> sources, Comparator<? super T> comparator) {
+        this.heads = new PriorityQueue<>(Math.max(1, sources.size()), (a, b) -> comparator.compare(a.value, b.value));
+        for (var source : sources) {
+            if (source.hasNext()) {
+                heads.add(new Head<>(source, source.next()));
+            }
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !heads.isEmpty();
+    }
+
+    @Override
+    public T next() {
+        var head = heads.poll();
+        if (head == null) {
+            throw new NoSuchElementException();
+        }
+
+        T value = head.value;
+        if (head.source.hasNext()) {
+            // Reuses the head to queue the next element of the same source
+            head.value = head.source.next();
+            heads.add(head);
+        }
+        return value;
+    }
+
+    private static final class Head<T> {
+        private final Iterator<? extends T> source;
+        private T value;
+
+        private Head(Iterator<? extends T> source, T value) {
+            this.source = source;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (C) 2024 Eric Afenyo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.ericafenyo.seniorhub.util;
+
+import java.nio.ByteBuffer;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.UUID;
+
+/**
+ * Generates the public ids of the entities, and converts them to and from the 16 bytes under which they are stored.
+ */
+public class Uuids {
+    /**
+     * The length in bytes of a stored id.
+     */
+    public static final int BYTES = 16;
+
+    /**
+     * The length of the canonical string form of an id, as in {@code 0190a7e4-5f3a-7b21-9c4d-2e8f1a6b3c5d}.
+     */
+    public static final int LENGTH = 36;
+
+    /**
+     * A generator per thread: the default {@link SecureRandom} on Linux reads {@code /dev/urandom} under a lock
+     * shared by every instance, DRBG instances only lock themselves and never block once seeded.
+     */
+    private static final ThreadLocal<SecureRandom> RANDOM = ThreadLocal.withInitial(() -> {
+        try {
+            return SecureRandom.getInstance("DRBG");
+        } catch (NoSuchAlgorithmException exception) {
+            return new SecureRandom();
+        }
+    });
+
+    /**
+     * Generates a version 7 UUID: the current Unix time in milliseconds on 48 bits followed by 74 random bits.
+     * <p>
+     * Ids created later sort after the ones created before, so new rows are appended at the end of the index on the
+     * id instead of landing on a random page. Ids created within the same millisecond are not ordered.
+     *
+     * @return A new time-ordered UUID.
+     */
+    public static UUID randomV7() {
+        var random = new byte[10];
+        RANDOM.get().nextBytes(random);
+        var bits = ByteBuffer.wrap(random);
+
+        long mostSignificant = (System.currentTimeMillis() << 16)
+            | 0x7000L
+            | (bits.getShort() & 0x0FFFL);
+        long leastSignificant = (bits.getLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+
+        return new UUID(mostSignificant, leastSignificant);
+    }
+
+    /**
+     * Returns the 16 bytes of a UUID, most significant first, as MySQL's {@code UUID_TO_BIN} without swap.
+     */
+    public static byte[] toBytes(UUID uuid) {
+        return ByteBuffer.allocate(BYTES)
+            .putLong(uuid.getMostSignificantBits())
+            .putLong(uuid.getLeastSignificantBits())
+            .array();
+    }
+
+    /**
+     * Returns the UUID stored in the given 16 bytes.
+     *
+     * @throws IllegalArgumentException If the array is not 16 bytes long.
+     */
+    public static UUID fromBytes(byte[] bytes) {
+        if (bytes.length != BYTES) {
+            throw new IllegalArgumentException("A UUID is " + BYTES + " bytes, got " + bytes.length);
+        }
+        var buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    /**
+     * Parses the canonical string form of a UUID.
+     * <p>
+     * Unlike {@link UUID#fromString(String)}, which accepts shortened groups such as {@code 1-1-1-1-1}, only strings
+     * that {@link UUID#toString()} could have produced are accepted, so that an id has a single string form.
+     *
+     * @return The UUID, or null if the string is not a canonical UUID.
+     */
+    public static UUID parse(String value) {
+        if (value == null || value.length() != LENGTH) {
+            return null;
+        }
+        for (int i = 0; i < LENGTH; i++) {
+            char c = value.charAt(i);
+            boolean separator = i == 8 || i == 13 || i == 18 || i == 23;
+            if (separator ? c != '-' : Character.digit(c, 16) < 0) {
+                return null;
+            }
+        }
+        return UUID.fromString(value);
+    }
+}
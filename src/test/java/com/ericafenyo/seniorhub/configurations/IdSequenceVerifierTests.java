@@ -0,0 +1,50 @@
+package com.ericafenyo.seniorhub.configurations;
+
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.sequence.NoSequenceSupport;
+import org.hibernate.dialect.sequence.SequenceSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+@DataJpaTest(properties =
+	"spring.jpa.database-platform=com.ericafenyo.seniorhub.configurations.IdSequenceVerifierTests$TableSequenceDialect"
+)
+@Import(IdSequenceVerifier.class)
+class IdSequenceVerifierTests {
+	@Autowired
+	private IdSequenceVerifier verifier;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void failsWhenASequenceTableIsBehindTheExistingRows() {
+		// Rows inserted before ddl-auto created the sequence table, starting at 1
+		jdbcTemplate.update("INSERT INTO countries (id, name) VALUES (1, 'France'), (2, 'Ghana')");
+		jdbcTemplate.update("UPDATE countries_seq SET next_val = 1");
+
+		assertThatIllegalStateException()
+			.isThrownBy(verifier::verify)
+			.withMessageContaining("countries_seq");
+
+		// As the sequence changeSets leave it
+		jdbcTemplate.update("UPDATE countries_seq SET next_val = 3");
+		assertThatCode(verifier::verify).doesNotThrowAnyException();
+	}
+
+	/**
+	 * Backs the id generators with tables as on MySQL, where H2 would otherwise use real sequences.
+	 */
+	public static class TableSequenceDialect extends H2Dialect {
+		@Override
+		public SequenceSupport getSequenceSupport() {
+			return NoSequenceSupport.INSTANCE;
+		}
+	}
+}
@@ -0,0 +1,160 @@
+package com.ericafenyo.seniorhub.entities;
+
+import com.ericafenyo.seniorhub.model.Priority;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Measures the throughput of bulk inserts and the cost of loading entities. Run with
+ * {@code mvn test -Dtest=PersistenceBenchmarkTests -Dbenchmark=true} on the in-memory database, or add
+ * {@code -Dspring.profiles.active=benchmark-mysql} to run against the MySQL of {@code docker-compose.yml}, where
+ * batching saves actual round trips and the size of the indexes is logged as well.
+ */
+@Slf4j
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class PersistenceBenchmarkTests {
+	private static final int ROWS = 5_000;
+	private static final int FLUSH_INTERVAL = 500;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private TeamEntity team;
+
+	@BeforeEach
+	void setUp() {
+		var creator = user(-1);
+		entityManager.persist(creator);
+
+		team = new TeamEntity();
+		team.setName("Family");
+		team.setDescription("The family of Ada");
+		team.setCreator(creator);
+		team.setCreatedAt(Instant.now());
+		team.setUpdatedAt(team.getCreatedAt());
+		entityManager.persist(team);
+		entityManager.flush();
+	}
+
+	@Test
+	void insertTasks() {
+		measure("tasks", index -> entityManager.persist(new TaskEntity()
+			.setTitle("Task " + index)
+			.setPriority(Priority.MEDIUM)
+			.setTeam(team)
+			.setCreatedAt(Instant.now())));
+	}
+
+	@Test
+	void insertUsers() {
+		measure("users", index -> entityManager.persist(user(index)));
+	}
+
+	@Test
+	void loadTasks() {
+		for (int index = 0; index < ROWS; index++) {
+			entityManager.persist(new TaskEntity()
+				.setTitle("Task " + index)
+				.setPriority(Priority.MEDIUM)
+				.setTeam(team)
+				.setCreatedAt(Instant.now()));
+		}
+		entityManager.flush();
+		entityManager.clear();
+
+		var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		var query = "SELECT t FROM tasks t WHERE t.team = ?1";
+
+		// Warm up the query plan and the mapping code before measuring
+		entityManager.getEntityManager().createQuery(query, TaskEntity.class).setParameter(1, team).getResultList();
+		entityManager.clear();
+
+		long allocated = threads.getCurrentThreadAllocatedBytes();
+		long start = System.nanoTime();
+		var tasks = entityManager.getEntityManager().createQuery(query, TaskEntity.class)
+			.setParameter(1, team)
+			.getResultList();
+		double seconds = (System.nanoTime() - start) / 1e9;
+		allocated = threads.getCurrentThreadAllocatedBytes() - allocated;
+
+		log.info(
+			"load tasks: {} rows in {} s, {} bytes allocated per row",
+			tasks.size(), String.format("%.3f", seconds), allocated / tasks.size()
+		);
+	}
+
+	private void measure(String table, IntConsumer insert) {
+		var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+
+		long start = System.nanoTime();
+		for (int index = 0; index < ROWS; index++) {
+			insert.accept(index);
+			if ((index + 1) % FLUSH_INTERVAL == 0) {
+				entityManager.flush();
+				entityManager.clear();
+			}
+		}
+		entityManager.flush();
+		double seconds = (System.nanoTime() - start) / 1e9;
+
+		log.info(
+			"{}: {} rows in {} s, {} rows/s, {} statements prepared",
+			table, ROWS, String.format("%.2f", seconds), Math.round(ROWS / seconds),
+			statistics.getPrepareStatementCount()
+		);
+		logIndexSizes(table);
+	}
+
+	/**
+	 * Logs the size of the indexes of a table on MySQL, from the pages they take in the buffer pool, which holds them
+	 * all right after the inserts. The persistent statistics would need an ANALYZE TABLE, which commits the
+	 * transaction the test rolls back.
+	 */
+	private void logIndexSizes(String table) {
+		var dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+		if (!(dialect instanceof MySQLDialect)) {
+			return;
+		}
+
+		List<?> sizes = entityManager.getEntityManager().createNativeQuery(
+				"SELECT index_name, COUNT(*) * @@innodb_page_size FROM information_schema.INNODB_BUFFER_PAGE "
+					+ "WHERE table_name = CONCAT('`', DATABASE(), '`.`', ?1, '`') "
+					+ "GROUP BY index_name ORDER BY index_name"
+			)
+			.setParameter(1, table)
+			.getResultList();
+		for (var row : sizes) {
+			var columns = (Object[]) row;
+			log.info("{} index {}: {} KiB", table, columns[0], ((Number) columns[1]).longValue() / 1024);
+		}
+	}
+
+	private static UserEntity user(int index) {
+		var user = new UserEntity();
+		user.setFirstName("Ada");
+		user.setLastName("Lovelace");
+		user.setEmail("ada" + index + "@example.com");
+		user.setCreatedAt(Instant.now());
+		user.setUpdatedAt(user.getCreatedAt());
+		return user;
+	}
+}
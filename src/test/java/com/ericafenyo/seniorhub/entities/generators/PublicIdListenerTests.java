@@ -0,0 +1,62 @@
+package com.ericafenyo.seniorhub.entities.generators;
+
+import com.ericafenyo.seniorhub.entities.AddressEntity;
+import com.ericafenyo.seniorhub.entities.CityEntity;
+import com.ericafenyo.seniorhub.entities.CountryEntity;
+import com.ericafenyo.seniorhub.entities.UserEntity;
+import com.ericafenyo.seniorhub.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class PublicIdListenerTests {
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Test
+	void assignsPublicIdsBeforeTheSessionFlushes() {
+		var address = new AddressEntity();
+		address.setStreet("1 Main Street");
+		address.setCity(new CityEntity().setName("Accra"));
+		address.setCountry(new CountryEntity().setName("Ghana"));
+
+		var user = user("ama@example.com");
+		user.setAddress(address);
+		var saved = userRepository.save(user);
+
+		// Read as the services do, before anything has been written
+		assertThat(saved.getUuid()).isNotNull();
+		assertThat(address.getUuid()).isNotNull();
+
+		entityManager.flush();
+		entityManager.clear();
+		assertThat(userRepository.findById(saved.getUuid())).isPresent();
+	}
+
+	@Test
+	void keepsPublicIdsSetBeforehand() {
+		var user = user("kofi@example.com");
+		user.setUuid("0190b1a2-0000-7000-8000-000000000000");
+		entityManager.persist(user);
+
+		assertThat(user.getUuid()).isEqualTo("0190b1a2-0000-7000-8000-000000000000");
+	}
+
+	private static UserEntity user(String email) {
+		var user = new UserEntity();
+		user.setFirstName("Ama");
+		user.setLastName("Mensah");
+		user.setEmail(email);
+		user.setCreatedAt(Instant.now());
+		return user;
+	}
+}
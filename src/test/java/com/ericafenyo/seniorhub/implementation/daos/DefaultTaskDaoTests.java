@@ -0,0 +1,169 @@
+package com.ericafenyo.seniorhub.implementation.daos;
+
+import com.ericafenyo.seniorhub.api.TaskCursor;
+import com.ericafenyo.seniorhub.contexts.ListTasksContext;
+import com.ericafenyo.seniorhub.entities.TaskEntity;
+import com.ericafenyo.seniorhub.entities.TeamEntity;
+import com.ericafenyo.seniorhub.entities.UserEntity;
+import com.ericafenyo.seniorhub.model.Priority;
+import com.ericafenyo.seniorhub.model.Task;
+import com.ericafenyo.seniorhub.model.TaskSort;
+import com.ericafenyo.seniorhub.projections.TaskView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(DefaultTaskDao.class)
+class DefaultTaskDaoTests {
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private DefaultTaskDao dao;
+
+	private TeamEntity team;
+	private UserEntity assignee;
+
+	@BeforeEach
+	void setUp() {
+		assignee = new UserEntity();
+		assignee.setFirstName("Ada");
+		assignee.setLastName("Lovelace");
+		assignee.setEmail("ada@example.com");
+		assignee.setCreatedAt(Instant.parse("2024-01-01T00:00:00Z"));
+		assignee.setUpdatedAt(assignee.getCreatedAt());
+		entityManager.persist(assignee);
+
+		team = new TeamEntity();
+		team.setName("Family");
+		team.setDescription("The family of Ada");
+		team.setCreator(assignee);
+		team.setCreatedAt(Instant.parse("2024-01-02T00:00:00Z"));
+		team.setUpdatedAt(team.getCreatedAt());
+		entityManager.persist(team);
+
+		var other = new TeamEntity();
+		other.setName("Neighbours");
+		other.setDescription("The neighbours of Ada");
+		other.setCreator(assignee);
+		other.setCreatedAt(Instant.parse("2024-01-02T00:00:00Z"));
+		other.setUpdatedAt(other.getCreatedAt());
+		entityManager.persist(other);
+
+		task(team, "Book appointment", null, Task.Status.PLANNED, 1);
+		task(team, "Buy groceries", LocalDate.parse("2024-02-01"), Task.Status.STARTED, 2).getAssignees().add(assignee);
+		task(team, "Refill pills", LocalDate.parse("2024-02-01"), Task.Status.PLANNED, 3);
+		task(team, "Call the nurse", null, Task.Status.COMPLETED, 4).getAssignees().add(assignee);
+		task(team, "Renew insurance", LocalDate.parse("2024-03-01"), Task.Status.PLANNED, 5);
+		task(other, "Water the plants", LocalDate.parse("2024-02-01"), Task.Status.PLANNED, 6);
+
+		entityManager.flush();
+		entityManager.clear();
+	}
+
+	@Test
+	void walksTasksByDueDateWithNullsFirst() {
+		var titles = titles(readAll(context(TaskSort.DUE_DATE).build()));
+
+		assertThat(titles).containsExactly(
+			"Book appointment", "Call the nurse", "Buy groceries", "Refill pills", "Renew insurance"
+		);
+	}
+
+	@Test
+	void walksTasksByDescendingDueDateWithNullsLast() {
+		var titles = titles(readAll(context(TaskSort.DUE_DATE_DESC).build()));
+
+		assertThat(titles).containsExactly(
+			"Renew insurance", "Refill pills", "Buy groceries", "Call the nurse", "Book appointment"
+		);
+	}
+
+	@Test
+	void walksTasksByDescendingCreationDate() {
+		var titles = titles(readAll(context(TaskSort.CREATED_AT_DESC).build()));
+
+		assertThat(titles).containsExactly(
+			"Renew insurance", "Call the nurse", "Refill pills", "Buy groceries", "Book appointment"
+		);
+	}
+
+	@Test
+	void walksTasksWithoutCreationDateByCreationDate() {
+		// Rows created before the creation date was recorded, bypassing the auditing listener
+		entityManager.getEntityManager()
+			.createQuery("UPDATE tasks as t SET t.createdAt = NULL WHERE t.title IN ('Buy groceries', 'Refill pills')")
+			.executeUpdate();
+
+		assertThat(titles(readAll(context(TaskSort.CREATED_AT).build()))).containsExactly(
+			"Buy groceries", "Refill pills", "Book appointment", "Call the nurse", "Renew insurance"
+		);
+		assertThat(titles(readAll(context(TaskSort.CREATED_AT_DESC).build()))).containsExactly(
+			"Renew insurance", "Call the nurse", "Book appointment", "Refill pills", "Buy groceries"
+		);
+	}
+
+	@Test
+	void appliesEveryFilter() {
+		var assigned = readAll(context(TaskSort.DUE_DATE).setAssigneeId(assignee.getUuid()).build());
+		assertThat(titles(assigned)).containsExactly("Call the nurse", "Buy groceries");
+
+		var planned = readAll(context(TaskSort.DUE_DATE)
+			.setStatus(Task.Status.PLANNED)
+			.setDueFrom(LocalDate.parse("2024-02-01"))
+			.setDueTo(LocalDate.parse("2024-02-29"))
+			.build());
+		assertThat(titles(planned)).containsExactly("Refill pills");
+	}
+
+	/**
+	 * Reads every page of the listing, two tasks at a time, through encoded cursors.
+	 */
+	private List<TaskView> readAll(ListTasksContext context) {
+		var tasks = new ArrayList<TaskView>();
+		TaskCursor after = null;
+		while (true) {
+			var page = dao.findPage(team.getId(), context, after, 2);
+			tasks.addAll(page);
+			if (page.size() < 2) {
+				return tasks;
+			}
+			try {
+				after = TaskCursor.parse(TaskCursor.of(context.getSort(), page.get(1)).encode(), context.getSort());
+			} catch (Exception exception) {
+				throw new AssertionError(exception);
+			}
+		}
+	}
+
+	private static ListTasksContext.ListTasksContextBuilder context(TaskSort sort) {
+		return ListTasksContext.builder().setSort(sort);
+	}
+
+	private static List<String> titles(List<TaskView> tasks) {
+		return tasks.stream().map(TaskView::title).toList();
+	}
+
+	private TaskEntity task(TeamEntity team, String title, LocalDate dueDate, Task.Status status, int day) {
+		var task = new TaskEntity()
+			.setTitle(title)
+			.setDueDate(dueDate)
+			.setStatus(status)
+			.setPriority(Priority.MEDIUM)
+			.setTeam(team)
+			.setCreatedAt(Instant.parse("2024-01-01T00:00:00Z").plusSeconds(day * 86400L));
+		entityManager.persist(task);
+		return task;
+	}
+}
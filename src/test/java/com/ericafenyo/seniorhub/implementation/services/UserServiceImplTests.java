@@ -0,0 +1,133 @@
+package com.ericafenyo.seniorhub.implementation.services;
+
+import com.ericafenyo.seniorhub.Messages;
+import com.ericafenyo.seniorhub.dto.AddressDto;
+import com.ericafenyo.seniorhub.dto.CreateUserRequest;
+import com.ericafenyo.seniorhub.entities.CredentialEntity;
+import com.ericafenyo.seniorhub.entities.UserEntity;
+import com.ericafenyo.seniorhub.exceptions.ConflictException;
+import com.ericafenyo.seniorhub.mapper.UserMapper;
+import com.ericafenyo.seniorhub.repository.CredentialRepository;
+import com.ericafenyo.seniorhub.repository.UserRepository;
+import com.ericafenyo.seniorhub.services.AccountService;
+import com.ericafenyo.seniorhub.services.RefreshTokenService;
+import com.ericafenyo.seniorhub.services.TeamService;
+import com.ericafenyo.seniorhub.services.TokenRevocationService;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UserServiceImplTests {
+
+	@Test
+	void createUserHashesPasswordBeforeTransactionStarts() throws Exception {
+		var passwordEncoder = mock(PasswordEncoder.class);
+		var userRepository = mock(UserRepository.class);
+		var credentialRepository = mock(CredentialRepository.class);
+		var transactionManager = mock(PlatformTransactionManager.class);
+
+		when(passwordEncoder.encode("Secret123")).thenReturn("hashed");
+		when(userRepository.save(any(UserEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+		when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+		var service = new UserServiceImpl(
+			passwordEncoder,
+			mock(UserMapper.class),
+			mock(Messages.class),
+			userRepository,
+			credentialRepository,
+			mock(TeamService.class),
+			mock(AccountService.class),
+			mock(TokenRevocationService.class),
+			mock(RefreshTokenService.class),
+			new TransactionTemplate(transactionManager)
+		);
+
+		service.createUser(createUserRequest());
+
+		// The connection is only acquired once the transaction begins, hashing must be done by then
+		InOrder order = inOrder(passwordEncoder, transactionManager, userRepository, credentialRepository);
+		order.verify(passwordEncoder).encode("Secret123");
+		order.verify(transactionManager).getTransaction(any());
+		order.verify(userRepository).save(any(UserEntity.class));
+		order.verify(credentialRepository).save(any(CredentialEntity.class));
+		order.verify(transactionManager).commit(any());
+		order.verifyNoMoreInteractions();
+	}
+
+	@Test
+	void createUserReportsTakenEmailAsConflict() {
+		var service = createServiceFailingWith(violation("users.uk_users_email"));
+
+		assertThrows(ConflictException.class, () -> service.createUser(createUserRequest()));
+	}
+
+	@Test
+	void createUserRethrowsOtherIntegrityViolations() {
+		var violation = violation("fk_credentials_user_id");
+		var service = createServiceFailingWith(violation);
+
+		var thrown = assertThrows(DataIntegrityViolationException.class, () -> service.createUser(createUserRequest()));
+		assertSame(violation, thrown);
+	}
+
+	private static DataIntegrityViolationException violation(String constraint) {
+		var cause = new ConstraintViolationException("Duplicate entry", new SQLException("Duplicate entry"), constraint);
+		return new DataIntegrityViolationException(cause.getMessage(), cause);
+	}
+
+	private static UserServiceImpl createServiceFailingWith(DataIntegrityViolationException violation) {
+		var passwordEncoder = mock(PasswordEncoder.class);
+		var userRepository = mock(UserRepository.class);
+		var transactionManager = mock(PlatformTransactionManager.class);
+
+		when(passwordEncoder.encode("Secret123")).thenReturn("hashed");
+		when(userRepository.save(any(UserEntity.class))).thenThrow(violation);
+		when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+		return new UserServiceImpl(
+			passwordEncoder,
+			mock(UserMapper.class),
+			mock(Messages.class),
+			userRepository,
+			mock(CredentialRepository.class),
+			mock(TeamService.class),
+			mock(AccountService.class),
+			mock(TokenRevocationService.class),
+			mock(RefreshTokenService.class),
+			new TransactionTemplate(transactionManager)
+		);
+	}
+
+	private static CreateUserRequest createUserRequest() {
+		var address = new AddressDto();
+		address.setStreet("1 Main Street");
+		address.setPostalCode("00000");
+		address.setCity("Accra");
+		address.setCountry("Ghana");
+
+		var request = new CreateUserRequest();
+		request.setFirstName("Ama");
+		request.setLastName("Mensah");
+		request.setBirthDate(LocalDate.of(1950, 1, 1));
+		request.setEmail("ama@example.com");
+		request.setPassword("Secret123");
+		request.setAddress(address);
+		return request;
+	}
+}
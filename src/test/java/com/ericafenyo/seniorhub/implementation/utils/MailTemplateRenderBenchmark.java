@@ -0,0 +1,76 @@
+package com.ericafenyo.seniorhub.implementation.utils;
+
+import com.ericafenyo.seniorhub.EnvironmentVariables;
+import freemarker.cache.ClassTemplateLoader;
+import freemarker.template.Configuration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.ui.freemarker.FreeMarkerTemplateUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the rendering of {@code templates/mails/invitation.html} by FreeMarker, looking up the template for every
+ * email as DefaultMailService did, with the split template of {@link MailTemplateRenderer}. Run with
+ * {@code mvn test -Dtest=MailTemplateRenderBenchmark -Dbenchmark=true}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MailTemplateRenderBenchmark {
+	private static final String TEMPLATE = "/mails/invitation.html";
+
+	private Configuration configuration;
+	private MailTemplateRenderer renderer;
+	private Map<String, Object> model;
+
+	@Setup
+	public void setUp() {
+		configuration = new Configuration(Configuration.VERSION_2_3_32);
+		configuration.setTemplateLoader(new ClassTemplateLoader(MailTemplateRenderBenchmark.class, "/templates"));
+		configuration.setDefaultEncoding("UTF-8");
+
+		var environment = new EnvironmentVariables();
+		environment.setMailTemplates(List.of(TEMPLATE));
+		renderer = new MailTemplateRenderer(configuration, environment);
+
+		model = Map.of("link", "https://seniorhub.example.com/invitations/accept?token=3q2-7wAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA");
+	}
+
+	@Benchmark
+	public String freeMarker() throws Exception {
+		return FreeMarkerTemplateUtils.processTemplateIntoString(configuration.getTemplate(TEMPLATE), model);
+	}
+
+	@Benchmark
+	public String fragments() {
+		return renderer.render(TEMPLATE, model);
+	}
+
+	@Test
+	@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+	void run() throws Exception {
+		new Runner(new OptionsBuilder()
+			.include(MailTemplateRenderBenchmark.class.getName())
+			.addProfiler(GCProfiler.class)
+			.build()).run();
+	}
+}
@@ -0,0 +1,52 @@
+package com.ericafenyo.seniorhub.implementation.utils;
+
+import com.ericafenyo.seniorhub.EnvironmentVariables;
+import freemarker.cache.StringTemplateLoader;
+import freemarker.core.HTMLOutputFormat;
+import freemarker.template.Configuration;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MailTemplateRendererTests {
+
+	@Test
+	void rendersSplitTemplatesLikeFreeMarker() {
+		var renderer = renderer(Map.of("plain.html", "<p>Hello ${name}, join <a href=\"${link}\">here</a></p>"));
+
+		assertThat(renderer.render("plain.html", Map.of("name", "Ada & Grace", "link", "https://example.com?a=1")))
+			.isEqualTo("<p>Hello Ada &amp; Grace, join <a href=\"https://example.com?a=1\">here</a></p>");
+	}
+
+	@Test
+	void rendersTemplatesThatCannotBeSplitWithFreeMarker() {
+		// Neither a marker nor a probe string can be tested as a boolean, so the template is left unsplit
+		var renderer = renderer(Map.of(
+			"conditional.html", "<p><#if urgent>Urgent: </#if>${title}</p>",
+			"nested.html", "<p>${team.name}</p>"
+		));
+
+		assertThat(renderer.render("conditional.html", Map.of("urgent", true, "title", "Refill pills")))
+			.isEqualTo("<p>Urgent: Refill pills</p>");
+		assertThat(renderer.render("conditional.html", Map.of("urgent", false, "title", "Refill pills")))
+			.isEqualTo("<p>Refill pills</p>");
+		assertThat(renderer.render("nested.html", Map.of("team", Map.of("name", "Family"))))
+			.isEqualTo("<p>Family</p>");
+	}
+
+	private static MailTemplateRenderer renderer(Map<String, String> templates) {
+		var loader = new StringTemplateLoader();
+		templates.forEach(loader::putTemplate);
+
+		var configuration = new Configuration(Configuration.VERSION_2_3_32);
+		configuration.setTemplateLoader(loader);
+		configuration.setOutputFormat(HTMLOutputFormat.INSTANCE);
+
+		var environment = new EnvironmentVariables();
+		environment.setMailTemplates(List.copyOf(templates.keySet()));
+		return new MailTemplateRenderer(configuration, environment);
+	}
+}
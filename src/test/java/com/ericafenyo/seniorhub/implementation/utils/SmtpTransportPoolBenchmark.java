@@ -0,0 +1,98 @@
+package com.ericafenyo.seniorhub.implementation.utils;
+
+import com.ericafenyo.seniorhub.EnvironmentVariables;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares sending messages to an embedded GreenMail server over a connection opened for each message, as
+ * {@link JavaMailSenderImpl#send(MimeMessage)} does, with sending them over the connections of
+ * {@link SmtpTransportPool}. Four threads send concurrently, as the outbox dispatcher does. Run with
+ * {@code mvn test -Dtest=SmtpTransportPoolBenchmark -Dbenchmark=true}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class SmtpTransportPoolBenchmark {
+	private GreenMail server;
+	private JavaMailSenderImpl mailSender;
+	private SmtpTransportPool pool;
+
+	@Setup
+	public void setUp() {
+		server = new GreenMail(new ServerSetup(3125, "127.0.0.1", ServerSetup.PROTOCOL_SMTP));
+		server.start();
+
+		mailSender = new JavaMailSenderImpl();
+		mailSender.setHost("127.0.0.1");
+		mailSender.setPort(3125);
+		mailSender.setProtocol("smtp");
+
+		var environment = new EnvironmentVariables();
+		environment.setSmtpPoolSize(4);
+		environment.setSmtpPoolBorrowTimeoutMillis(10_000L);
+		environment.setSmtpPoolMaxIdleSeconds(30L);
+		environment.setSmtpPoolValidateOnBorrow(true);
+		pool = new SmtpTransportPool(mailSender, environment, new SimpleMeterRegistry());
+	}
+
+	@TearDown
+	public void tearDown() {
+		pool.close();
+		server.stop();
+	}
+
+	@Benchmark
+	public void connectionPerMessage() throws Exception {
+		mailSender.send(message());
+	}
+
+	@Benchmark
+	public void pooled() throws Exception {
+		pool.send(message());
+	}
+
+	private MimeMessage message() throws Exception {
+		var message = mailSender.createMimeMessage();
+		var helper = new MimeMessageHelper(message, "UTF-8");
+		helper.setFrom("no-reply@example.com");
+		helper.setTo("ada@example.com");
+		helper.setSubject("Invitation");
+		helper.setText("<p>Join the team</p>", true);
+		return message;
+	}
+
+	@Test
+	@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+	void run() throws Exception {
+		new Runner(new OptionsBuilder()
+			.include(SmtpTransportPoolBenchmark.class.getName())
+			.build()).run();
+	}
+}
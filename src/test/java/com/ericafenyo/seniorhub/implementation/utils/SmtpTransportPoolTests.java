@@ -0,0 +1,113 @@
+package com.ericafenyo.seniorhub.implementation.utils;
+
+import com.ericafenyo.seniorhub.EnvironmentVariables;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class SmtpTransportPoolTests {
+	@RegisterExtension
+	static final GreenMailExtension SMTP = new GreenMailExtension(ServerSetupTest.SMTP);
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private final JavaMailSenderImpl mailSender = mailSender();
+	private SmtpTransportPool pool;
+
+	@AfterEach
+	void tearDown() {
+		if (pool != null) {
+			pool.close();
+		}
+	}
+
+	@Test
+	void reusesConnectionsAcrossSends() throws Exception {
+		pool = pool(30);
+
+		for (int i = 0; i < 5; i++) {
+			pool.send(message("ada" + i + "@example.com"));
+		}
+
+		assertThat(SMTP.getReceivedMessages()).hasSize(5);
+		assertThat(connectionsOpened()).isEqualTo(1);
+		assertThat(idleConnections()).isEqualTo(1);
+	}
+
+	@Test
+	void discardsConnectionsWhoseSendFailed() throws Exception {
+		pool = pool(30);
+		pool.send(message("ada@example.com"));
+
+		// A message without recipients is refused by the transport
+		var invalid = mailSender.createMimeMessage();
+		invalid.setSubject("Invitation");
+		invalid.setText("Join the team");
+		assertThatExceptionOfType(MailSendException.class).isThrownBy(() -> pool.send(invalid));
+		assertThat(idleConnections()).isZero();
+
+		pool.send(message("grace@example.com"));
+		assertThat(SMTP.getReceivedMessages()).hasSize(2);
+		assertThat(connectionsOpened()).isEqualTo(2);
+	}
+
+	@Test
+	void evictsIdleConnections() throws Exception {
+		pool = pool(1);
+		pool.send(message("ada@example.com"));
+
+		pool.evictIdle();
+		assertThat(idleConnections()).isEqualTo(1);
+
+		Thread.sleep(1100);
+		pool.evictIdle();
+		assertThat(idleConnections()).isZero();
+
+		pool.send(message("grace@example.com"));
+		assertThat(connectionsOpened()).isEqualTo(2);
+	}
+
+	private SmtpTransportPool pool(long maxIdleSeconds) {
+		var environment = new EnvironmentVariables();
+		environment.setSmtpPoolSize(2);
+		environment.setSmtpPoolBorrowTimeoutMillis(1000L);
+		environment.setSmtpPoolMaxIdleSeconds(maxIdleSeconds);
+		environment.setSmtpPoolValidateOnBorrow(true);
+		return new SmtpTransportPool(mailSender, environment, registry);
+	}
+
+	private MimeMessage message(String to) throws Exception {
+		var message = mailSender.createMimeMessage();
+		var helper = new MimeMessageHelper(message, "UTF-8");
+		helper.setFrom("no-reply@example.com");
+		helper.setTo(to);
+		helper.setSubject("Invitation");
+		helper.setText("Join the team");
+		return message;
+	}
+
+	private double connectionsOpened() {
+		return registry.get("mail.smtp.connections.opened").counter().count();
+	}
+
+	private double idleConnections() {
+		return registry.get("mail.smtp.pool.idle").gauge().value();
+	}
+
+	private static JavaMailSenderImpl mailSender() {
+		var mailSender = new JavaMailSenderImpl();
+		mailSender.setHost(ServerSetupTest.SMTP.getBindAddress());
+		mailSender.setPort(ServerSetupTest.SMTP.getPort());
+		mailSender.setProtocol("smtp");
+		return mailSender;
+	}
+}
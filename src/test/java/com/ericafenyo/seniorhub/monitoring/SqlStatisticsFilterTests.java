@@ -0,0 +1,146 @@
+package com.ericafenyo.seniorhub.monitoring;
+
+import com.ericafenyo.seniorhub.EnvironmentVariables;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlStatisticsFilterTests {
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+	@Test
+	void sendsStatementCountAndJdbcTimeInServerTimingHeader() throws Exception {
+		var request = request("listUsers");
+		var response = new MockHttpServletResponse();
+
+		filter().doFilter(request, response, executing(3));
+
+		assertThat(response.getHeader(SqlStatisticsFilter.SERVER_TIMING_HEADER))
+			.isEqualTo("sql;desc=\"3 statements\";dur=3.0");
+		assertThat(registry.get("http.server.sql.statements").tag("uri", "/users").summary().totalAmount())
+			.isEqualTo(3);
+	}
+
+	@Test
+	void sendsFinalCountsInServerTimingTrailerWhenAccepted() throws Exception {
+		var request = request("listUsers");
+		request.addHeader("TE", "trailers");
+		var response = new TrailerResponse();
+
+		// Two statements before the body is written, one while serializing it
+		filter().doFilter(request, response, (req, res) -> {
+			executing(2).doFilter(req, res);
+			SqlStatistics.record(1_000_000);
+		});
+
+		assertThat(response.getHeader(SqlStatisticsFilter.SERVER_TIMING_HEADER))
+			.isEqualTo("sql;desc=\"2 statements\";dur=2.0");
+		assertThat(response.trailers.get()).containsEntry(
+			SqlStatisticsFilter.SERVER_TIMING_HEADER, "sql;desc=\"3 statements\";dur=3.0"
+		);
+		assertThat(registry.get("http.server.sql.statements").summary().totalAmount()).isEqualTo(3);
+	}
+
+	@Test
+	void countsStatementsOfAsynchronousResponsesOnCompletion() throws Exception {
+		var request = request("listUsers");
+		request.setAsyncSupported(true);
+		var task = new AtomicReference<Runnable>();
+
+		filter().doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+			SqlStatistics.record(1_000_000);
+			req.startAsync();
+			task.set(new SqlStatisticsTaskDecorator().decorate(() -> {
+				SqlStatistics.record(1_000_000);
+				SqlStatistics.record(1_000_000);
+			}));
+		});
+		assertThat(registry.find("http.server.sql.statements").summary()).isNull();
+
+		var thread = new Thread(task.get());
+		thread.start();
+		thread.join();
+		request.getAsyncContext().complete();
+
+		assertThat(registry.get("http.server.sql.statements").summary().totalAmount()).isEqualTo(3);
+	}
+
+	@Test
+	void countsExceededBudgetWithoutFailingTheRequest() throws Exception {
+		var request = request("getUser");
+		var response = new MockHttpServletResponse();
+
+		filter().doFilter(request, response, executing(2));
+
+		assertThat(response.getContentAsString()).isEqualTo("[]");
+		assertThat(registry.get("http.server.sql.budget.exceeded").counter().count()).isEqualTo(1);
+	}
+
+	@Test
+	void usesDefaultBudgetWithoutAnnotation() throws Exception {
+		var request = request("listUsers");
+
+		filter().doFilter(request, new MockHttpServletResponse(), executing(5));
+
+		assertThat(registry.find("http.server.sql.budget.exceeded").counter()).isNull();
+	}
+
+	private SqlStatisticsFilter filter() {
+		var environment = new EnvironmentVariables();
+		environment.setSqlStatementBudget(5);
+		return new SqlStatisticsFilter(environment, registry);
+	}
+
+	private static MockHttpServletRequest request(String handler) throws NoSuchMethodException {
+		var request = new MockHttpServletRequest("GET", "/users");
+		request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/users");
+		request.setAttribute(
+			HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE,
+			new HandlerMethod(new Handlers(), Handlers.class.getDeclaredMethod(handler))
+		);
+		return request;
+	}
+
+	/**
+	 * Returns a chain executing the given number of statements of 1 millisecond each, then writing a body.
+	 */
+	private static FilterChain executing(int statements) {
+		return (request, response) -> {
+			for (int i = 0; i < statements; i++) {
+				SqlStatistics.record(1_000_000);
+			}
+			response.getWriter().write("[]");
+		};
+	}
+
+	/**
+	 * A response keeping the trailer fields, which the mock response ignores.
+	 */
+	static class TrailerResponse extends MockHttpServletResponse {
+		private Supplier<Map<String, String>> trailers;
+
+		@Override
+		public void setTrailerFields(Supplier<Map<String, String>> supplier) {
+			trailers = supplier;
+		}
+	}
+
+	static class Handlers {
+		void listUsers() {
+		}
+
+		@SqlBudget(statements = 1)
+		void getUser() {
+		}
+	}
+}
@@ -0,0 +1,80 @@
+package com.ericafenyo.seniorhub.recurrence;
+
+import com.ericafenyo.seniorhub.model.Frequency;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Expands 10 000 random series over a year. Run with
+ * {@code mvn test -Dtest=RecurrenceBenchmark -Dbenchmark=true}, the GC profiler reports the bytes allocated per run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecurrenceBenchmark {
+	private static final int SERIES = 10_000;
+	private static final LocalDate FROM = LocalDate.of(2025, 1, 1);
+	private static final LocalDate TO = LocalDate.of(2026, 1, 1);
+
+	private RecurrenceRule[] rules;
+	private LocalDate[] starts;
+
+	@Setup
+	public void setUp() {
+		var random = new Random(42);
+		rules = new RecurrenceRule[SERIES];
+		starts = new LocalDate[SERIES];
+		for (int i = 0; i < SERIES; i++) {
+			rules[i] = new RecurrenceRule(
+				Frequency.values()[random.nextInt(Frequency.values().length)],
+				1 + random.nextInt(3),
+				random.nextBoolean() ? 0 : 1 + random.nextInt(500),
+				1 + random.nextInt(7),
+				1 + random.nextInt(5),
+				random.nextBoolean() ? 0 : 1 + random.nextInt(31),
+				1 + random.nextInt(12)
+			);
+			starts[i] = LocalDate.of(2015, 1, 1).plusDays(random.nextInt(365 * 10));
+		}
+	}
+
+	@Benchmark
+	public void expandYear(Blackhole blackhole) {
+		for (int i = 0; i < SERIES; i++) {
+			var occurrences = rules[i].occurrences(starts[i], FROM, TO);
+			while (occurrences.hasNext()) {
+				blackhole.consume(occurrences.nextLong());
+			}
+		}
+	}
+
+	@Test
+	@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+	void run() throws Exception {
+		new Runner(new OptionsBuilder()
+			.include(RecurrenceBenchmark.class.getName())
+			.addProfiler(GCProfiler.class)
+			.build()).run();
+	}
+}
@@ -0,0 +1,131 @@
+package com.ericafenyo.seniorhub.recurrence;
+
+import com.ericafenyo.seniorhub.model.Frequency;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecurrenceRuleTests {
+	private static final int CASES = 5_000;
+
+	@Test
+	void matchesNaiveExpansionForRandomRules() {
+		var random = new Random(20241018);
+
+		for (int i = 0; i < CASES; i++) {
+			var frequency = Frequency.values()[random.nextInt(Frequency.values().length)];
+			int interval = 1 + random.nextInt(4);
+			int limit = random.nextInt(3) == 0 ? 0 : 1 + random.nextInt(30);
+			int dayOfWeek = 1 + random.nextInt(7);
+			int weekOfMonth = random.nextInt(6) == 0 ? -1 : 1 + random.nextInt(5);
+			int dayOfMonth = random.nextInt(3) == 0 ? 0 : 1 + random.nextInt(31);
+			int monthOfYear = 1 + random.nextInt(12);
+			var rule = new RecurrenceRule(frequency, interval, limit, dayOfWeek, weekOfMonth, dayOfMonth, monthOfYear);
+
+			var start = LocalDate.of(1996, 1, 1).plusDays(random.nextInt(365 * 40));
+			var from = start.plusDays(random.nextInt(2000) - 200);
+			var to = from.plusDays(random.nextInt(800));
+
+			var description = String.format(
+				"%s every %d, limit %d, dow %d, week %d, dom %d, month %d, start %s, window [%s, %s)",
+				frequency, interval, limit, dayOfWeek, weekOfMonth, dayOfMonth, monthOfYear, start, from, to
+			);
+			var actual = expand(rule.occurrences(start, from, to));
+			var expected = naive(frequency, interval, limit, dayOfWeek, weekOfMonth, dayOfMonth, monthOfYear, start, from, to);
+
+			assertThat(actual).as(description).isEqualTo(expected);
+			assertThat(actual).as(description).isSorted().doesNotHaveDuplicates()
+				.allSatisfy(date -> assertThat(date).isAfterOrEqualTo(from).isBefore(to).isAfterOrEqualTo(start));
+		}
+	}
+
+	@Test
+	void expandsNthAndLastWeekdays() {
+		// The second Tuesday and the last Friday of each month
+		var secondTuesday = new RecurrenceRule(Frequency.MONTHLY, 1, 0, 2, 2, 0, 1);
+		var lastFriday = new RecurrenceRule(Frequency.MONTHLY, 1, 0, 5, -1, 0, 1);
+		var start = LocalDate.of(2024, 1, 1);
+
+		assertThat(expand(secondTuesday.occurrences(start, start, LocalDate.of(2024, 4, 1)))).containsExactly(
+			LocalDate.of(2024, 1, 9), LocalDate.of(2024, 2, 13), LocalDate.of(2024, 3, 12)
+		);
+		assertThat(expand(lastFriday.occurrences(start, start, LocalDate.of(2024, 4, 1)))).containsExactly(
+			LocalDate.of(2024, 1, 26), LocalDate.of(2024, 2, 23), LocalDate.of(2024, 3, 29)
+		);
+	}
+
+	@Test
+	void countsOccurrencesFromTheStartOfTheSeries() {
+		// Ten daily doses starting on the first, only the last five fall in the window
+		var rule = new RecurrenceRule(Frequency.DAILY, 1, 10, 1, 1, 1, 1);
+		var start = LocalDate.of(2024, 1, 1);
+
+		assertThat(expand(rule.occurrences(start, LocalDate.of(2024, 1, 6), LocalDate.of(2024, 2, 1))))
+			.hasSize(5)
+			.endsWith(LocalDate.of(2024, 1, 10));
+	}
+
+	private static List<LocalDate> expand(OccurrenceIterator occurrences) {
+		var dates = new ArrayList<LocalDate>();
+		while (occurrences.hasNext()) {
+			dates.add(occurrences.nextDate());
+		}
+		return dates;
+	}
+
+	/**
+	 * Expands the series from its start with the java.time API, one period after the other.
+	 */
+	private static List<LocalDate> naive(
+		Frequency frequency, int interval, int limit, int dayOfWeek, int weekOfMonth, int dayOfMonth, int monthOfYear,
+		LocalDate start, LocalDate from, LocalDate to
+	) {
+		var dates = new ArrayList<LocalDate>();
+		int count = 0;
+		for (long k = 0; ; k++) {
+			long periods = k * interval;
+			var date = switch (frequency) {
+				case DAILY -> start.plusDays(periods);
+				case WEEKLY -> start.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY))
+					.plusWeeks(periods)
+					.plusDays(dayOfWeek - 1);
+				case MONTHLY -> inMonth(YearMonth.from(start).plusMonths(periods), dayOfWeek, weekOfMonth, dayOfMonth);
+				case YEARLY -> inMonth(
+					YearMonth.of(start.getYear(), monthOfYear).plusYears(periods), dayOfWeek, weekOfMonth, dayOfMonth
+				);
+			};
+			if (date.isBefore(start)) {
+				continue;
+			}
+			if ((limit > 0 && count == limit) || !date.isBefore(to)) {
+				return dates;
+			}
+			count++;
+			if (!date.isBefore(from)) {
+				dates.add(date);
+			}
+		}
+	}
+
+	private static LocalDate inMonth(YearMonth month, int dayOfWeek, int weekOfMonth, int dayOfMonth) {
+		if (dayOfMonth > 0) {
+			return month.atDay(Math.min(dayOfMonth, month.lengthOfMonth()));
+		}
+		var weekday = DayOfWeek.of(dayOfWeek);
+		if (weekOfMonth > 0) {
+			var date = month.atDay(1).with(TemporalAdjusters.dayOfWeekInMonth(weekOfMonth, weekday));
+			if (YearMonth.from(date).equals(month)) {
+				return date;
+			}
+		}
+		return month.atDay(1).with(TemporalAdjusters.lastInMonth(weekday));
+	}
+}
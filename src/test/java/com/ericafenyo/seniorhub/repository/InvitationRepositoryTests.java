@@ -0,0 +1,76 @@
+package com.ericafenyo.seniorhub.repository;
+
+import com.ericafenyo.seniorhub.entities.InvitationEntity;
+import com.ericafenyo.seniorhub.entities.RoleEntity;
+import com.ericafenyo.seniorhub.entities.TeamEntity;
+import com.ericafenyo.seniorhub.entities.UserEntity;
+import com.ericafenyo.seniorhub.util.SecureTokens;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class InvitationRepositoryTests {
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private InvitationRepository repository;
+
+	@Test
+	void archivesInvitationsOnceTheirTableHasGainedColumns() {
+		var invitation = invitation();
+		entityManager.persist(invitation);
+		entityManager.flush();
+
+		// The archive is created as a copy of the table, then Hibernate adds a column to the invitations only
+		entityManager.createNativeQuery("CREATE TABLE invitations_archive AS SELECT * FROM invitations WHERE 1 = 0").executeUpdate();
+		entityManager.createNativeQuery("ALTER TABLE invitations ADD COLUMN note VARCHAR(255)").executeUpdate();
+
+		assertThat(repository.archiveAllByIds(List.of(invitation.getId()))).isEqualTo(1);
+		assertThat(repository.deleteAllByIds(List.of(invitation.getId()))).isEqualTo(1);
+
+		var archived = entityManager.createNativeQuery("SELECT email FROM invitations_archive").getResultList();
+		assertThat(archived).containsExactly("grace@example.com");
+	}
+
+	private InvitationEntity invitation() {
+		var now = Instant.parse("2024-01-01T00:00:00Z");
+
+		var inviter = new UserEntity();
+		inviter.setEmail("ada@example.com");
+		inviter.setCreatedAt(now);
+		inviter.setUpdatedAt(now);
+		entityManager.persist(inviter);
+
+		var team = new TeamEntity();
+		team.setName("Family");
+		team.setDescription("The family of Ada");
+		team.setCreator(inviter);
+		team.setCreatedAt(now);
+		team.setUpdatedAt(now);
+		entityManager.persist(team);
+
+		var role = new RoleEntity();
+		role.setName("Caregiver");
+		role.setSlug("caregiver");
+		role.setCreatedAt(now);
+		entityManager.persist(role);
+
+		return new InvitationEntity()
+			.setEmail("grace@example.com")
+			.setTokenHash(SecureTokens.hash(SecureTokens.generate()))
+			.setRole(role)
+			.setInviter(inviter)
+			.setTeam(team)
+			.setExpiresAt(now.plusSeconds(3600))
+			.setCreatedAt(now)
+			.setUpdatedAt(now);
+	}
+}
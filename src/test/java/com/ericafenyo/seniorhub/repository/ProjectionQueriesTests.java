@@ -0,0 +1,237 @@
+package com.ericafenyo.seniorhub.repository;
+
+import com.ericafenyo.seniorhub.api.Cursor;
+import com.ericafenyo.seniorhub.dao.EventDao;
+import com.ericafenyo.seniorhub.entities.AddressEntity;
+import com.ericafenyo.seniorhub.entities.CityEntity;
+import com.ericafenyo.seniorhub.entities.CountryEntity;
+import com.ericafenyo.seniorhub.entities.EventEntity;
+import com.ericafenyo.seniorhub.entities.RoleEntity;
+import com.ericafenyo.seniorhub.entities.TeamEntity;
+import com.ericafenyo.seniorhub.entities.UserEntity;
+import com.ericafenyo.seniorhub.projections.UserView;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class ProjectionQueriesTests {
+	private static final List<String> STATEMENTS = Collections.synchronizedList(new ArrayList<>());
+
+	private static final List<String> USER_COLUMNS = List.of(
+		"id", "uuid", "first_name", "last_name", "birth_date", "email", "photo", "created_at", "updated_at",
+		"uuid", "street", "postal_code", "name", "name"
+	);
+	private static final List<String> TEAM_COLUMNS = List.of(
+		"id", "uuid", "name", "description", "created_at", "updated_at"
+	);
+	private static final List<String> ROLE_COLUMNS = List.of(
+		"id", "uuid", "name", "slug", "description", "created_at"
+	);
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private TeamRepository teamRepository;
+
+	@Autowired
+	private RoleRepository roleRepository;
+
+	@Autowired
+	private EventDao eventDao;
+
+	private UserEntity creator;
+
+	@BeforeEach
+	void setUp() {
+		var address = new AddressEntity();
+		address.setStreet("1 Main Street");
+		address.setPostalCode("75001");
+		address.setCity(new CityEntity().setName("Paris"));
+		address.setCountry(new CountryEntity().setName("France"));
+
+		creator = user("ada@example.com", Instant.parse("2024-01-01T00:00:00Z"));
+		creator.setAddress(address);
+		entityManager.persist(creator);
+		entityManager.persist(user("grace@example.com", Instant.parse("2024-01-02T00:00:00Z")));
+
+		var team = new TeamEntity();
+		team.setName("Family");
+		team.setDescription("The family of Ada");
+		team.setCreator(creator);
+		team.setCreatedAt(Instant.parse("2024-01-03T00:00:00Z"));
+		team.setUpdatedAt(team.getCreatedAt());
+		entityManager.persist(team);
+
+		var role = new RoleEntity();
+		role.setName("Caregiver");
+		role.setSlug("caregiver");
+		role.setDescription("Takes care of the senior");
+		role.setCreatedAt(Instant.parse("2024-01-04T00:00:00Z"));
+		entityManager.persist(role);
+
+		entityManager.flush();
+		entityManager.clear();
+		STATEMENTS.clear();
+	}
+
+	@Test
+	void userPageSelectsUserAndAddressColumnsInOneStatement() {
+		var users = userRepository.findViewPage(null, 10);
+
+		assertThat(users).hasSize(2);
+		assertThat(users.get(0).city()).isEqualTo("Paris");
+		assertThat(users.get(1).addressUuid()).isNull();
+		assertThat(STATEMENTS).hasSize(1);
+		assertThat(selectedColumns(STATEMENTS.get(0))).isEqualTo(USER_COLUMNS);
+	}
+
+	@Test
+	void pagesThroughUsersWithoutCreationDateFirst() throws Exception {
+		entityManager.persist(user("alan@example.com", null));
+		entityManager.flush();
+		// Rows created before the creation date was recorded, bypassing the auditing listener
+		entityManager.getEntityManager()
+			.createQuery("UPDATE users as u SET u.createdAt = NULL WHERE u.email = 'alan@example.com'")
+			.executeUpdate();
+
+		var emails = new ArrayList<String>();
+		Cursor cursor = null;
+		List<UserView> page;
+		while (!(page = userRepository.findViewPage(cursor, 1)).isEmpty()) {
+			var last = page.get(0);
+			emails.add(last.email());
+			// Through the opaque form handed out to clients
+			cursor = Cursor.parse(new Cursor(last.createdAt(), last.id()).encode());
+		}
+
+		assertThat(emails).containsExactly("alan@example.com", "ada@example.com", "grace@example.com");
+	}
+
+	@Test
+	void pagesThroughEventsByLocalCreationDate() throws Exception {
+		for (var name : List.of("Lunch", "Walk", "Bingo")) {
+			var event = new EventEntity();
+			event.setName(name);
+			entityManager.persist(event);
+		}
+		entityManager.flush();
+		// Creation dates out of insertion order, one of them missing, bypassing the auditing listener
+		var days = new HashMap<String, LocalDateTime>();
+		days.put("Lunch", LocalDateTime.parse("2024-01-06T12:00:00"));
+		days.put("Walk", LocalDateTime.parse("2024-01-05T12:00:00"));
+		days.put("Bingo", null);
+		days.forEach((name, createdAt) -> entityManager.getEntityManager()
+			.createQuery("UPDATE events as e SET e.createdAt = :createdAt WHERE e.name = :name")
+			.setParameter("createdAt", createdAt)
+			.setParameter("name", name)
+			.executeUpdate());
+		entityManager.clear();
+
+		var names = new ArrayList<String>();
+		Cursor cursor = null;
+		List<EventEntity> page;
+		while (!(page = eventDao.findPage("SELECT e FROM events as e ", "e", EventEntity.class, cursor, 1)).isEmpty()) {
+			var last = page.get(0);
+			names.add(last.getName());
+			cursor = Cursor.parse(Cursor.of(last.getCreatedAt(), last.getId()).encode());
+		}
+
+		assertThat(names).containsExactly("Bingo", "Walk", "Lunch");
+	}
+
+	@Test
+	void userByIdSelectsUserAndAddressColumnsInOneStatement() {
+		var user = userRepository.findViewById(creator.getUuid());
+
+		assertThat(user).hasValueSatisfying(view -> assertThat(view.country()).isEqualTo("France"));
+		assertThat(STATEMENTS).hasSize(1);
+		assertThat(selectedColumns(STATEMENTS.get(0))).isEqualTo(USER_COLUMNS);
+	}
+
+	@Test
+	void teamReadsSelectOnlyTeamColumns() {
+		assertThat(teamRepository.findViewPage(null, 10)).hasSize(1);
+		assertThat(teamRepository.findAllViewsByCreatorId(creator.getId())).hasSize(1);
+
+		// Without a projection the creator, its address, city and country would be loaded too
+		assertThat(STATEMENTS).hasSize(2);
+		assertThat(STATEMENTS).allSatisfy(sql -> assertThat(selectedColumns(sql)).isEqualTo(TEAM_COLUMNS));
+	}
+
+	@Test
+	void exportStreamsSelectEveryRowInOneStatement() {
+		try (var users = userRepository.streamViews(); var teams = teamRepository.streamViews()) {
+			assertThat(users.map(UserView::city)).containsExactly("Paris", null);
+			assertThat(teams).hasSize(1);
+		}
+
+		// Streaming the entities instead would load the address, city, country and team creator row by row
+		assertThat(STATEMENTS).hasSize(2);
+		assertThat(selectedColumns(STATEMENTS.get(0))).isEqualTo(USER_COLUMNS);
+		assertThat(selectedColumns(STATEMENTS.get(1))).isEqualTo(TEAM_COLUMNS);
+	}
+
+	@Test
+	void rolePageSelectsOnlyRoleColumns() {
+		assertThat(roleRepository.findViewPage(null, 10)).hasSize(1);
+
+		assertThat(STATEMENTS).hasSize(1);
+		assertThat(selectedColumns(STATEMENTS.get(0))).isEqualTo(ROLE_COLUMNS);
+	}
+
+	private static UserEntity user(String email, Instant createdAt) {
+		var user = new UserEntity();
+		user.setFirstName("Ada");
+		user.setLastName("Lovelace");
+		user.setEmail(email);
+		user.setCreatedAt(createdAt);
+		user.setUpdatedAt(createdAt);
+		return user;
+	}
+
+	/**
+	 * Returns the unqualified names of the columns in the select clause of a statement.
+	 */
+	private static List<String> selectedColumns(String sql) {
+		var lower = sql.toLowerCase();
+		var clause = lower.substring(lower.indexOf("select") + "select".length(), lower.indexOf(" from "));
+		return Arrays.stream(clause.split(","))
+			.map(String::trim)
+			.map(column -> column.substring(column.indexOf('.') + 1))
+			.toList();
+	}
+
+	@TestConfiguration
+	static class StatementCaptureConfiguration {
+		@Bean
+		HibernatePropertiesCustomizer statementInspector() {
+			StatementInspector inspector = sql -> {
+				STATEMENTS.add(sql);
+				return sql;
+			};
+			return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+		}
+	}
+}
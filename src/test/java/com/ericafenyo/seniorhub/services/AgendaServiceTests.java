@@ -0,0 +1,122 @@
+package com.ericafenyo.seniorhub.services;
+
+import com.ericafenyo.seniorhub.EnvironmentVariables;
+import com.ericafenyo.seniorhub.Messages;
+import com.ericafenyo.seniorhub.entities.AppointmentEntity;
+import com.ericafenyo.seniorhub.entities.MedicationEntity;
+import com.ericafenyo.seniorhub.entities.RecurrenceEntity;
+import com.ericafenyo.seniorhub.entities.TaskEntity;
+import com.ericafenyo.seniorhub.entities.TeamEntity;
+import com.ericafenyo.seniorhub.entities.UserEntity;
+import com.ericafenyo.seniorhub.exceptions.BadRequestException;
+import com.ericafenyo.seniorhub.model.Frequency;
+import com.ericafenyo.seniorhub.model.Priority;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@Import({AgendaService.class, Messages.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@EnableConfigurationProperties(EnvironmentVariables.class)
+class AgendaServiceTests {
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private AgendaService service;
+
+	@Test
+	void mergesTheSourcesOfATeamInChronologicalOrder() throws Exception {
+		var team = team();
+
+		// Monday 2024-06-03
+		entityManager.persist(task(team, "Buy groceries", LocalDate.parse("2024-06-04")));
+		entityManager.persist(task(team, "Out of range", LocalDate.parse("2024-06-11")));
+
+		var checkup = new AppointmentEntity();
+		checkup.setTitle("Checkup");
+		checkup.setStartDate(LocalDateTime.parse("2024-06-03T10:00"));
+		checkup.setEndDate(LocalDateTime.parse("2024-06-03T11:00"));
+		checkup.setTeam(team);
+		checkup.setRecurrence(new RecurrenceEntity().setFrequency(Frequency.WEEKLY).setDayOfWeek(1));
+		entityManager.persist(checkup.getRecurrence());
+		entityManager.persist(checkup);
+
+		var medication = new MedicationEntity();
+		medication.setName("Aspirin");
+		medication.setFrequency("daily");
+		medication.setStartDate(LocalDateTime.parse("2024-06-05T08:00"));
+		// Ends before the dose of 2024-06-06
+		medication.setEndDate(LocalDateTime.parse("2024-06-06T07:00"));
+		medication.setTeam(team);
+		entityManager.persist(medication);
+		entityManager.flush();
+
+		var output = new ByteArrayOutputStream();
+		service.write(output, team.getId(), LocalDate.parse("2024-06-03"), LocalDate.parse("2024-06-11"));
+
+		var entries = new ArrayList<String>();
+		for (JsonNode item : objectMapper.readTree(output.toByteArray())) {
+			entries.add(item.get("date").asText() + " " + item.get("type").asText() + " " + item.get("title").asText());
+		}
+
+		assertThat(entries).containsExactly(
+			"2024-06-03 APPOINTMENT Checkup",
+			"2024-06-04 TASK Buy groceries",
+			"2024-06-05 MEDICATION Aspirin",
+			"2024-06-10 APPOINTMENT Checkup"
+		);
+	}
+
+	@Test
+	void rejectsEmptyAndOversizedRanges() {
+		var day = LocalDate.parse("2024-06-03");
+
+		assertThatThrownBy(() -> service.getAgenda("team", day, day)).isInstanceOf(BadRequestException.class);
+		assertThatThrownBy(() -> service.getAgenda("team", day, day.plusYears(2))).isInstanceOf(BadRequestException.class);
+	}
+
+	private TeamEntity team() {
+		var creator = new UserEntity();
+		creator.setEmail("ada@example.com");
+		creator.setCreatedAt(Instant.now());
+		entityManager.persist(creator);
+
+		var team = new TeamEntity();
+		team.setName("Family");
+		team.setDescription("The family of Ada");
+		team.setCreator(creator);
+		team.setCreatedAt(Instant.now());
+		team.setUpdatedAt(Instant.now());
+		entityManager.persist(team);
+		return team;
+	}
+
+	private static TaskEntity task(TeamEntity team, String title, LocalDate dueDate) {
+		return new TaskEntity()
+			.setTitle(title)
+			.setPriority(Priority.MEDIUM)
+			.setDueDate(dueDate)
+			.setTeam(team);
+	}
+}
@@ -0,0 +1,125 @@
+package com.ericafenyo.seniorhub.services;
+
+import com.ericafenyo.seniorhub.exceptions.ServiceUnavailableException;
+import com.ericafenyo.seniorhub.exceptions.account.InvalidCredentialsException;
+import com.ericafenyo.seniorhub.security.BoundedPasswordEncoder;
+import com.ericafenyo.seniorhub.security.PasswordHashingRejectedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EmailPasswordAuthenticationServiceTests {
+	private static final Duration MAX_WAIT = Duration.ofSeconds(10);
+
+	private final CountDownLatch release = new CountDownLatch(1);
+	private final ExecutorService callers = Executors.newFixedThreadPool(2);
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+	private BoundedPasswordEncoder encoder;
+	private EmailPasswordAuthenticationService service;
+
+	@BeforeEach
+	void setUp() {
+		encoder = new BoundedPasswordEncoder(new BlockingPasswordEncoder(release), 1, 1, MAX_WAIT, registry);
+
+		var provider = new DaoAuthenticationProvider();
+		provider.setUserDetailsService(new InMemoryUserDetailsManager(
+			User.withUsername("ada@example.com").password("secret").build()
+		));
+		provider.setPasswordEncoder(encoder);
+		service = new EmailPasswordAuthenticationService(new ProviderManager(provider));
+	}
+
+	@AfterEach
+	void tearDown() {
+		release.countDown();
+		callers.shutdownNow();
+		encoder.close();
+	}
+
+	@Test
+	void rejectsWrongPasswordAsInvalidCredentials() {
+		assertThatThrownBy(() -> service.authenticate("ada@example.com", "wrong"))
+			.isInstanceOf(InvalidCredentialsException.class);
+	}
+
+	@Test
+	void reportsSaturatedHashingOfUnknownUserAsUnavailable() throws Exception {
+		saturate();
+
+		// The provider hashes a dummy password for unknown users too, so that they take as long as known ones
+		assertThatThrownBy(() -> service.authenticate("grace@example.com", "secret"))
+			.isInstanceOfSatisfying(ServiceUnavailableException.class, exception ->
+				assertThat(exception.getRetryAfter()).isEqualTo(MAX_WAIT));
+	}
+
+	@Test
+	void reportsSaturatedHashingOfKnownUserAsUnavailable() throws Exception {
+		saturate();
+
+		assertThatThrownBy(() -> service.authenticate("ada@example.com", "secret"))
+			.isInstanceOf(ServiceUnavailableException.class);
+	}
+
+	@Test
+	void reportsRejectionWrappedByProviderAsUnavailable() {
+		var provider = new DaoAuthenticationProvider();
+		provider.setUserDetailsService(username -> {
+			throw new PasswordHashingRejectedException(MAX_WAIT, null);
+		});
+		provider.setPasswordEncoder(encoder);
+		service = new EmailPasswordAuthenticationService(new ProviderManager(provider));
+
+		assertThatThrownBy(() -> service.authenticate("ada@example.com", "secret"))
+			.isInstanceOf(ServiceUnavailableException.class);
+	}
+
+	/**
+	 * Occupies the only hashing thread and the only queue slot until the test ends.
+	 */
+	private void saturate() throws InterruptedException {
+		callers.submit(() -> encoder.encode(BlockingPasswordEncoder.BLOCK));
+		callers.submit(() -> encoder.encode(BlockingPasswordEncoder.BLOCK));
+		while (registry.get("password.hashing.queue.depth").gauge().value() < 1) {
+			Thread.sleep(10);
+		}
+	}
+
+	/**
+	 * Stores passwords as is, blocking on the hashing of {@link #BLOCK} until released.
+	 */
+	private record BlockingPasswordEncoder(CountDownLatch release) implements PasswordEncoder {
+		static final String BLOCK = "block";
+
+		@Override
+		public String encode(CharSequence rawPassword) {
+			if (BLOCK.contentEquals(rawPassword)) {
+				try {
+					release.await();
+				} catch (InterruptedException exception) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			return rawPassword.toString();
+		}
+
+		@Override
+		public boolean matches(CharSequence rawPassword, String encodedPassword) {
+			return rawPassword.toString().equals(encodedPassword);
+		}
+	}
+}
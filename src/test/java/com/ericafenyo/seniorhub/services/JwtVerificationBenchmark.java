@@ -0,0 +1,87 @@
+package com.ericafenyo.seniorhub.services;
+
+import com.ericafenyo.seniorhub.EnvironmentVariables;
+import com.ericafenyo.seniorhub.model.Account;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the verification of an access token as the filter did it before the claims were cached, parsing twice
+ * with a parser built from the string secret, with the cached single parse. Run with
+ * {@code mvn test -Dtest=JwtVerificationBenchmark -Dbenchmark=true}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerificationBenchmark {
+	private String secret;
+	private Account account;
+	private String token;
+	private JwtAuthenticationService service;
+
+	@Setup
+	public void setUp() {
+		secret = Base64.getEncoder().encodeToString("0123456789abcdef0123456789abcdef".getBytes());
+
+		var environment = new EnvironmentVariables();
+		environment.setJwtSecretKey(secret);
+		environment.setJwtCacheSize(10_000L);
+		environment.setJwtCacheTtlSeconds(300L);
+		service = new JwtAuthenticationService(environment);
+
+		account = new Account().setId("0190a7e4-5f3a-7b21-9c4d-2e8f1a6b3c5d").setEmail("ada@example.com");
+		token = service.sign(account);
+	}
+
+	@Benchmark
+	public boolean parseTwice() {
+		// extractEmail, then verify, each building a parser and decoding the secret
+		var email = Jwts.parser().setSigningKey(secret).parseClaimsJws(token).getBody().get("email", String.class);
+		var claims = Jwts.parser().setSigningKey(secret).parseClaimsJws(token).getBody();
+		return email != null && isValid(claims);
+	}
+
+	@Benchmark
+	public boolean parseCached() {
+		var claims = service.parse(token).orElseThrow();
+		return service.extractEmail(claims) != null && service.verify(claims, account);
+	}
+
+	private boolean isValid(Claims claims) {
+		var minExpiration = new Date(System.currentTimeMillis() + Duration.ofMinutes(1).toMillis());
+		return JwtAuthenticationService.subjectOf(account.getId()).equals(claims.getSubject())
+			&& !claims.getExpiration().before(minExpiration);
+	}
+
+	@Test
+	@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+	void run() throws Exception {
+		new Runner(new OptionsBuilder()
+			.include(JwtVerificationBenchmark.class.getName())
+			.addProfiler(GCProfiler.class)
+			.build()).run();
+	}
+}
@@ -0,0 +1,135 @@
+package com.ericafenyo.seniorhub.services;
+
+import com.ericafenyo.seniorhub.entities.TaskEntity;
+import com.ericafenyo.seniorhub.entities.TeamEntity;
+import com.ericafenyo.seniorhub.entities.TeamSummaryEntity;
+import com.ericafenyo.seniorhub.entities.UserEntity;
+import com.ericafenyo.seniorhub.model.Priority;
+import com.ericafenyo.seniorhub.model.Task;
+import com.ericafenyo.seniorhub.repository.TeamSummaryRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(TeamSummaryTracker.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TeamSummaryTrackerTests {
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private TeamSummaryTracker tracker;
+
+	@Autowired
+	private TeamSummaryRepository repository;
+
+	@Test
+	void countsChangesInTheTransactionsMakingThem() {
+		var transaction = new TransactionTemplate(transactionManager);
+
+		// The summary is created along with the team
+		var ids = transaction.execute(status -> {
+			var creator = new UserEntity();
+			creator.setEmail("ada@example.com");
+			creator.setCreatedAt(Instant.now());
+			entityManager.persist(creator);
+
+			var team = new TeamEntity();
+			team.setName("Family");
+			team.setDescription("The family of Ada");
+			team.setCreator(creator);
+			team.setCreatedAt(Instant.now());
+			team.setUpdatedAt(Instant.now());
+			entityManager.persist(team);
+
+			var overdue = task(team, Priority.HIGH, LocalDate.now().minusDays(1));
+			entityManager.persist(overdue);
+			entityManager.persist(task(team, Priority.LOW, null));
+			return new Long[]{team.getId(), overdue.getId()};
+		});
+		var teamId = ids[0];
+
+		var summary = summaryOf(teamId);
+		assertThat(summary.getTasksPlanned()).isEqualTo(2);
+		assertThat(summary.getTasksHigh()).isEqualTo(1);
+		assertThat(summary.getTasksLow()).isEqualTo(1);
+
+		// Completing a task moves it between counters
+		transaction.executeWithoutResult(status ->
+			entityManager.find(TaskEntity.class, ids[1]).setStatus(Task.Status.COMPLETED)
+		);
+
+		summary = summaryOf(teamId);
+		assertThat(summary.getTasksPlanned()).isEqualTo(1);
+		assertThat(summary.getTasksCompleted()).isEqualTo(1);
+
+		// Members inserted natively are reported explicitly
+		transaction.executeWithoutResult(status -> tracker.memberAdded(teamId));
+		assertThat(summaryOf(teamId).getMemberCount()).isEqualTo(1);
+
+		// Nothing is counted when the transaction rolls back
+		transaction.executeWithoutResult(status -> {
+			entityManager.remove(entityManager.find(TaskEntity.class, ids[1]));
+			entityManager.flush();
+			status.setRollbackOnly();
+		});
+		assertThat(summaryOf(teamId).getTasksCompleted()).isEqualTo(1);
+	}
+
+	@Test
+	void countsOverdueTasksAsTimePasses() {
+		var teamId = new TransactionTemplate(transactionManager).execute(status -> {
+			var creator = new UserEntity();
+			creator.setEmail("grace@example.com");
+			creator.setCreatedAt(Instant.now());
+			entityManager.persist(creator);
+
+			var team = new TeamEntity();
+			team.setName("Neighbours");
+			team.setDescription("The neighbours of Grace");
+			team.setCreator(creator);
+			team.setCreatedAt(Instant.now());
+			team.setUpdatedAt(Instant.now());
+			entityManager.persist(team);
+
+			entityManager.persist(task(team, Priority.LOW, LocalDate.now().plusDays(1)));
+			entityManager.persist(task(team, Priority.LOW, LocalDate.now().plusDays(3)).setStatus(Task.Status.COMPLETED));
+			return team.getId();
+		});
+
+		// No row changes while the due dates pass
+		assertThat(repository.countOverdueTasks(teamId, LocalDate.now())).isZero();
+		assertThat(repository.countOverdueTasks(teamId, LocalDate.now().plusDays(2))).isEqualTo(1);
+		assertThat(repository.countOverdueTasks(teamId, LocalDate.now().plusDays(4))).isEqualTo(1);
+	}
+
+	private TeamSummaryEntity summaryOf(Long teamId) {
+		entityManager.clear();
+		return new TransactionTemplate(transactionManager).execute(status ->
+			entityManager.find(TeamSummaryEntity.class, teamId)
+		);
+	}
+
+	private static TaskEntity task(TeamEntity team, Priority priority, LocalDate dueDate) {
+		return new TaskEntity()
+			.setTitle("Buy groceries")
+			.setPriority(priority)
+			.setDueDate(dueDate)
+			.setTeam(team);
+	}
+}
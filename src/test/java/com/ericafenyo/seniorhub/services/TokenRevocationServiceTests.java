@@ -0,0 +1,112 @@
+package com.ericafenyo.seniorhub.services;
+
+import com.ericafenyo.seniorhub.EnvironmentVariables;
+import com.ericafenyo.seniorhub.repository.RevokedSubjectRepository;
+import com.ericafenyo.seniorhub.repository.RevokedTokenRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class TokenRevocationServiceTests {
+	@Autowired
+	private RevokedTokenRepository repository;
+
+	@Autowired
+	private RevokedSubjectRepository subjectRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@TempDir
+	private Path directory;
+
+	private final List<TokenRevocationService> nodes = new ArrayList<>();
+
+	@AfterEach
+	void tearDown() throws IOException {
+		for (var node : nodes) {
+			node.close();
+		}
+	}
+
+	@Test
+	void appliesRevocationsMadeByAnotherNodeOnceSynchronized() {
+		var node = node("a");
+		var other = node("b");
+		var token = claims("0190a7e4-5f3a-7b21-9c4d-2e8f1a6b3c5d");
+		var userToken = claims("0190a7e4-5f3a-7b21-9c4d-2e8f1a6b3c5e");
+		other.sync();
+
+		node.revoke(token);
+		node.revokeUser("0190a7e4-5f3a-7b21-9c4d-2e8f1a6b3c5e");
+		assertThat(node.isRevoked(token)).isTrue();
+		assertThat(node.isRevoked(userToken)).isTrue();
+
+		// The other node only knows about the revocations from its next synchronization
+		assertThat(other.isRevoked(token)).isFalse();
+		other.sync();
+		assertThat(other.isRevoked(token)).isTrue();
+		assertThat(other.isRevoked(userToken)).isTrue();
+		assertThat(other.isRevoked(claims("0190a7e4-5f3a-7b21-9c4d-2e8f1a6b3c5f"))).isFalse();
+	}
+
+	@Test
+	void keepsUserRevocationsAcrossRestarts() throws IOException {
+		var node = node("a");
+		var issuedBefore = claims("0190a7e4-5f3a-7b21-9c4d-2e8f1a6b3c5d");
+		node.revokeUser("0190a7e4-5f3a-7b21-9c4d-2e8f1a6b3c5d");
+		node.close();
+		nodes.remove(node);
+
+		// A fresh filter file is rebuilt from the database
+		var restarted = node("c");
+		restarted.initialize();
+		assertThat(restarted.isRevoked(issuedBefore)).isTrue();
+
+		// Tokens issued after the revocation are accepted again
+		var issuedAfter = claims("0190a7e4-5f3a-7b21-9c4d-2e8f1a6b3c5d").setIssuedAt(Date.from(Instant.now().plusSeconds(1)));
+		assertThat(restarted.isRevoked(issuedAfter)).isFalse();
+	}
+
+	private TokenRevocationService node(String name) {
+		var environment = new EnvironmentVariables();
+		environment.setRevocationFilterPath(directory.resolve(name + ".bloom").toString());
+		environment.setRevocationFilterSize(1L << 16);
+		environment.setRevocationFilterHashes(7);
+
+		var node = new TokenRevocationService(repository, subjectRepository, transactionTemplate, environment);
+		nodes.add(node);
+		return node;
+	}
+
+	private static Claims claims(String userId) {
+		return Jwts.claims()
+			.setId(UUID.randomUUID().toString())
+			.setSubject(JwtAuthenticationService.subjectOf(userId))
+			.setIssuedAt(Date.from(Instant.now().minusSeconds(1)))
+			.setExpiration(Date.from(Instant.now().plus(JwtAuthenticationService.ACCESS_TOKEN_LIFETIME)));
+	}
+
+	@TestConfiguration
+	@EnableJpaAuditing
+	static class Auditing {
+	}
+}
@@ -0,0 +1,73 @@
+package com.ericafenyo.seniorhub.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MergingIteratorTests {
+
+	@Test
+	void mergesSortedSourcesInOrder() {
+		var random = new Random(42);
+		var sources = new ArrayList<List<Integer>>();
+		var expected = new ArrayList<Integer>();
+		for (int i = 0; i < 20; i++) {
+			var source = random.ints(random.nextInt(50), 0, 1000).sorted().boxed().toList();
+			sources.add(source);
+			expected.addAll(source);
+		}
+		expected.sort(Comparator.naturalOrder());
+
+		var merged = new ArrayList<Integer>();
+		new MergingIterator<>(sources.stream().map(List::iterator).toList(), Comparator.<Integer>naturalOrder())
+			.forEachRemaining(merged::add);
+
+		assertThat(merged).isEqualTo(expected);
+	}
+
+	@Test
+	void readsEachSourceOneElementAhead() {
+		var reads = new AtomicInteger();
+		var sources = List.of(counting(List.of(1, 4, 7), reads), counting(List.of(2, 5), reads), counting(List.of(), reads));
+
+		var merged = new MergingIterator<>(sources, Comparator.<Integer>naturalOrder());
+		assertThat(reads).hasValue(2);
+
+		assertThat(merged.next()).isEqualTo(1);
+		assertThat(merged.next()).isEqualTo(2);
+		assertThat(reads).hasValue(4);
+	}
+
+	@Test
+	void failsWhenExhausted() {
+		var merged = new MergingIterator<>(List.<Iterator<Integer>>of(), Comparator.<Integer>naturalOrder());
+
+		assertThat(merged.hasNext()).isFalse();
+		assertThatThrownBy(merged::next).isInstanceOf(NoSuchElementException.class);
+	}
+
+	private static Iterator<Integer> counting(List<Integer> values, AtomicInteger reads) {
+		var iterator = values.iterator();
+		return new Iterator<>() {
+			@Override
+			public boolean hasNext() {
+				return iterator.hasNext();
+			}
+
+			@Override
+			public Integer next() {
+				reads.incrementAndGet();
+				return iterator.next();
+			}
+		};
+	}
+}
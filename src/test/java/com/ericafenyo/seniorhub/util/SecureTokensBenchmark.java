@@ -0,0 +1,94 @@
+package com.ericafenyo.seniorhub.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Formatter;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the generation, hashing and encoding of tokens with the former Hashing.randomSHA256, which hashed a
+ * random UUID and hex-encoded it through a Formatter. Run with
+ * {@code mvn test -Dtest=SecureTokensBenchmark -Dbenchmark=true}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SecureTokensBenchmark {
+	private String token;
+	private byte[] hash;
+
+	@Setup
+	public void setUp() {
+		token = SecureTokens.generate();
+		hash = SecureTokens.hash(token);
+	}
+
+	@Benchmark
+	public String generateFromUuid() throws Exception {
+		var digest = MessageDigest.getInstance("SHA-256");
+		return formatHex(digest.digest(UUID.randomUUID().toString().getBytes(StandardCharsets.UTF_8)));
+	}
+
+	@Benchmark
+	public String generate() {
+		return SecureTokens.generate();
+	}
+
+	@Benchmark
+	public byte[] hashWithNewDigest() throws Exception {
+		return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+	}
+
+	@Benchmark
+	public byte[] hash() {
+		return SecureTokens.hash(token);
+	}
+
+	@Benchmark
+	public String hexWithFormatter() {
+		return formatHex(hash);
+	}
+
+	@Benchmark
+	public String hex() {
+		return Encodings.toHex(hash);
+	}
+
+	private static String formatHex(byte[] bytes) {
+		try (var result = new Formatter()) {
+			for (var b : bytes) {
+				result.format("%02x", b & 0xff);
+			}
+			return result.toString();
+		}
+	}
+
+	@Test
+	@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+	void run() throws Exception {
+		new Runner(new OptionsBuilder()
+			.include(SecureTokensBenchmark.class.getName())
+			.addProfiler(GCProfiler.class)
+			.build()).run();
+	}
+}
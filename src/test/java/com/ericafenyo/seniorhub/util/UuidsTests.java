@@ -0,0 +1,42 @@
+package com.ericafenyo.seniorhub.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class UuidsTests {
+
+	@Test
+	void generatesVersion7UuidsOrderedByCreationTime() throws InterruptedException {
+		var first = Uuids.randomV7();
+		Thread.sleep(2);
+		var second = Uuids.randomV7();
+
+		assertThat(first.version()).isEqualTo(7);
+		assertThat(first.variant()).isEqualTo(2);
+		assertThat(first.getMostSignificantBits() >>> 16).isCloseTo(System.currentTimeMillis(), within(1000L));
+		// Stored big-endian, the bytes compare in the same order as the creation times
+		assertThat(Arrays.compareUnsigned(Uuids.toBytes(first), Uuids.toBytes(second))).isNegative();
+	}
+
+	@Test
+	void roundTripsThroughBytes() {
+		var uuid = UUID.fromString("0190a7e4-5f3a-7b21-9c4d-2e8f1a6b3c5d");
+
+		assertThat(Uuids.toBytes(uuid)).startsWith((byte) 0x01, (byte) 0x90, (byte) 0xa7);
+		assertThat(Uuids.fromBytes(Uuids.toBytes(uuid))).isEqualTo(uuid);
+	}
+
+	@Test
+	void parsesOnlyCanonicalStrings() {
+		assertThat(Uuids.parse("0190a7e4-5f3a-7b21-9c4d-2e8f1a6b3c5d")).isNotNull();
+		assertThat(Uuids.parse("1-1-1-1-1")).isNull();
+		assertThat(Uuids.parse("0190a7e4-5f3a-7b21-9c4d+2e8f1a6b3c5d")).isNull();
+		assertThat(Uuids.parse("not-a-uuid")).isNull();
+		assertThat(Uuids.parse(null)).isNull();
+	}
+}